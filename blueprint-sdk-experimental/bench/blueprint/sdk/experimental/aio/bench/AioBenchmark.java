@@ -0,0 +1,139 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of aio services over loopback.<br>
+ * <br>
+ * Each benchmark thread owns a connection and keeps one request in flight (closed loop).
+ * Throughput mode reports requests per msec, SampleTime mode reports latency percentiles.<br>
+ * Every trial starts its own services with given readerCount, reactorCount & bufferSize.<br>
+ * <br>
+ * JMH isn't bundled in lib, so benchmarks live in their own source root (bench), out of src & tests
+ * which are built with javac.classpath. Put JMH jars in lib/jmh and build them with 'ant bench-jar'
+ * (see build.xml).<br>
+ * e.g. java -jar dist/benchmarks.jar AioBenchmark -p readerCount=1,2 -t 32<br>
+ * Run SioBenchmark for the thread per connection baseline, or LoadGenerator without JMH.<br>
+ * <br>
+ * Performance changes to blueprint.sdk.experimental.aio should come with numbers from this
+ * (before & after, same machine & parameters).<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class AioBenchmark {
+    @Param({"1", "2", "4"})
+    public int readerCount;
+
+    @Param({"2", "8"})
+    public int reactorCount;
+
+    @Param({"512", "8192"})
+    public int bufferSize;
+
+    /**
+     * echo message size in byte
+     */
+    @Param({"64", "4096"})
+    public int messageSize;
+
+    private BenchServer echo;
+    private BenchServer http;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        echo = new BenchServer(BenchServer.Target.ECHO, readerCount, reactorCount, bufferSize);
+        http = new BenchServer(BenchServer.Target.HTTP, readerCount, reactorCount, bufferSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        echo.stop();
+        http.stop();
+    }
+
+    /**
+     * echo round trip with EchoSession
+     */
+    @Benchmark
+    public int echo(final Connection con) throws IOException {
+        return con.echo.echo(con.message);
+    }
+
+    /**
+     * keep-alive request with SimpleHttpSession
+     */
+    @Benchmark
+    public int http(final Connection con) throws IOException {
+        return con.http.http(con.keepAlive);
+    }
+
+    /**
+     * connection per request with SimpleHttpSession (compare with SioBenchmark)
+     */
+    @Benchmark
+    public int httpClose(final Connection con) throws IOException {
+        return LoopbackClient.oneShot(http.getPort(), con.close);
+    }
+
+    /**
+     * connections of a benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Connection {
+        LoopbackClient echo;
+        LoopbackClient http;
+        byte[] message;
+        final byte[] keepAlive = LoopbackClient.newHttpRequest(true);
+        final byte[] close = LoopbackClient.newHttpRequest(false);
+
+        @Setup(Level.Trial)
+        public void connect(final AioBenchmark bench) throws IOException {
+            echo = new LoopbackClient(bench.echo.getPort());
+            http = new LoopbackClient(bench.http.getPort());
+            message = LoopbackClient.newMessage(bench.messageSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void disconnect() throws IOException {
+            echo.close();
+            http.close();
+        }
+    }
+}
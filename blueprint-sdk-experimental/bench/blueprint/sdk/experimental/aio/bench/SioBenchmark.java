@@ -0,0 +1,63 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread per connection baseline (sio.Acceptor) for AioBenchmark.httpClose.<br>
+ * sio has no knobs, so it's kept apart from AioBenchmark's parameters.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class SioBenchmark {
+    private final byte[] request = LoopbackClient.newHttpRequest(false);
+
+    private BenchServer sio;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        sio = new BenchServer(BenchServer.Target.SIO, 0, 0, 0);
+    }
+
+    /**
+     * connection per request (the acceptor dies with the forked JVM)
+     */
+    @Benchmark
+    public int sio() throws IOException {
+        return LoopbackClient.oneShot(sio.getPort(), request);
+    }
+}
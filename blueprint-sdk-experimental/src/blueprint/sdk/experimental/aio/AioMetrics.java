@@ -0,0 +1,320 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import blueprint.sdk.logger.Logger;
+import blueprint.sdk.util.Validator;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters & histograms of a Proactor and its Services.<br>
+ * <br>
+ * Read with getters (pull API) or through JMX (see register).<br>
+ * A Proactor has one AioMetrics however many Services share it, so it's registered once, under
+ * the name of first Service bound, until every Service unregisters it.<br>
+ * Counters are LongAdders and histograms are striped as well, so recording costs no contention
+ * on hot paths. Use these numbers to size reactorCount & readerCount:<br>
+ * high queue depth with low process latency: more reactors<br>
+ * few empty selects with high selects per second: more read threads<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class AioMetrics implements AioMetricsMXBean {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    /**
+     * sampling window of getSelectsPerSecond() (nsec)
+     */
+    private static final long RATE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private transient final LongAdder accepted = new LongAdder();
+    private transient final LongAdder rejected = new LongAdder();
+    private transient final LongAdder bytesRead = new LongAdder();
+    private transient final LongAdder bytesWritten = new LongAdder();
+    private transient final LongAdder selects = new LongAdder();
+    private transient final LongAdder emptySelects = new LongAdder();
+
+    /**
+     * Session.process() latency (nsec)
+     */
+    private transient final Histogram processLatency = new Histogram();
+    /**
+     * number of sessions waiting for a reactor, sampled on dispatch
+     */
+    private transient final Histogram queueDepth = new Histogram();
+
+    /**
+     * number of active sessions (set by Proactor)
+     */
+    private transient volatile IntSupplier activeSessions = () -> 0;
+    /**
+     * number of sessions waiting for a reactor (set by Proactor)
+     */
+    private transient volatile IntSupplier queueDepthGauge = () -> 0;
+
+    /**
+     * start of current sampling window (for getSelectsPerSecond())
+     */
+    private transient long windowSelects = 0;
+    private transient long windowNanos = System.nanoTime();
+    /**
+     * rate of last completed sampling window
+     */
+    private transient double selectsPerSecond = 0;
+
+    private transient ObjectName objectName = null;
+    /**
+     * number of register() calls not unregistered yet
+     */
+    private transient int registrations = 0;
+
+    /**
+     * Registers to platform MBeanServer as "blueprint.sdk.experimental.aio:type=AioMetrics,name=[name]".<br>
+     * If it's registered already, keeps current name and counts one more registration.<br>
+     * Every successful call should be paired with an unregister().<br>
+     *
+     * @param name name to register (e.g. service name)
+     * @return true: registered
+     */
+    public synchronized boolean register(final String name) {
+        if (Validator.isNotNull(objectName)) {
+            registrations++;
+            return true;
+        }
+
+        try {
+            ObjectName target = new ObjectName("blueprint.sdk.experimental.aio:type=AioMetrics,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, target);
+            objectName = target;
+            registrations = 1;
+        } catch (JMException e) {
+            LOGGER.error(this, "can't register metrics as MBean - " + e);
+        }
+
+        return Validator.isNotNull(objectName);
+    }
+
+    /**
+     * @return registered name (null: not registered)
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Undoes a register().<br>
+     * Unregisters from platform MBeanServer once every register() is undone.<br>
+     */
+    public synchronized void unregister() {
+        if (--registrations <= 0) {
+            unregisterAll();
+        }
+    }
+
+    /**
+     * Unregisters from platform MBeanServer (if registered), regardless of register() calls
+     */
+    synchronized void unregisterAll() {
+        registrations = 0;
+        if (Validator.isNotNull(objectName)) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                LOGGER.error(this, "can't unregister metrics - " + e);
+            }
+            objectName = null;
+        }
+    }
+
+    void accepted() {
+        accepted.increment();
+    }
+
+    void rejected() {
+        rejected.increment();
+    }
+
+    void read(final long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    void written(final long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * @param selected true: some keys were selected
+     */
+    void selected(final boolean selected) {
+        selects.increment();
+        if (!selected) {
+            emptySelects.increment();
+        }
+    }
+
+    /**
+     * @param nanos Session.process() latency
+     */
+    void processed(final long nanos) {
+        processLatency.record(nanos);
+    }
+
+    /**
+     * @param depth number of sessions waiting for a reactor
+     */
+    void queued(final int depth) {
+        queueDepth.record(depth);
+    }
+
+    void setActiveSessions(final IntSupplier activeSessions) {
+        this.activeSessions = activeSessions;
+    }
+
+    void setQueueDepthGauge(final IntSupplier queueDepthGauge) {
+        this.queueDepthGauge = queueDepthGauge;
+    }
+
+    /**
+     * @return accepted connections
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return connections rejected by IpFilter or failed to create a session
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.getAsInt();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getSelectCount() {
+        return selects.sum();
+    }
+
+    /**
+     * @return selects which returned no key (timeouts & wakeups for tasks)
+     */
+    public long getEmptySelectCount() {
+        return emptySelects.sum();
+    }
+
+    /**
+     * Readers within a sampling window get same value, so polling from more than one client
+     * (e.g. two JMX consoles) doesn't skew it.<br>
+     *
+     * @return selects per second of last completed sampling window (1 sec at least)
+     */
+    public synchronized double getSelectsPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - windowNanos;
+
+        if (elapsed >= RATE_WINDOW) {
+            long count = selects.sum();
+            selectsPerSecond = (count - windowSelects) * 1000000000.0 / elapsed;
+            windowSelects = count;
+            windowNanos = now;
+        }
+
+        return selectsPerSecond;
+    }
+
+    public long getProcessCount() {
+        return processLatency.getCount();
+    }
+
+    public double getProcessNanosMean() {
+        return processLatency.getMean();
+    }
+
+    public long getProcessNanosP50() {
+        return processLatency.getPercentile(50);
+    }
+
+    public long getProcessNanosP99() {
+        return processLatency.getPercentile(99);
+    }
+
+    public long getProcessNanosP999() {
+        return processLatency.getPercentile(99.9);
+    }
+
+    public long getProcessNanosMax() {
+        return processLatency.getMax();
+    }
+
+    public int getQueueDepth() {
+        return queueDepthGauge.getAsInt();
+    }
+
+    public long getQueueDepthP99() {
+        return queueDepth.getPercentile(99);
+    }
+
+    public long getQueueDepthMax() {
+        return queueDepth.getMax();
+    }
+
+    public void resetHistograms() {
+        processLatency.reset();
+        queueDepth.reset();
+    }
+
+    /**
+     * @return Session.process() latency (nsec)
+     */
+    public Histogram getProcessLatency() {
+        return processLatency;
+    }
+
+    /**
+     * @return number of sessions waiting for a reactor, sampled on dispatch
+     */
+    public Histogram getQueueDepthHistogram() {
+        return queueDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "AioMetrics[accepted=" + getAcceptedCount() + ", rejected=" + getRejectedCount() + ", active="
+                + getActiveSessions() + ", bytesRead=" + getBytesRead() + ", bytesWritten=" + getBytesWritten()
+                + ", selects=" + getSelectCount() + ", emptySelects=" + getEmptySelectCount() + ", process="
+                + processLatency + ", queueDepth=" + queueDepth + "]";
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+/**
+ * JMX view of AioMetrics
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("unused")
+public interface AioMetricsMXBean {
+    long getAcceptedCount();
+
+    long getRejectedCount();
+
+    int getActiveSessions();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    long getSelectCount();
+
+    long getEmptySelectCount();
+
+    /**
+     * @return selects per second of last completed sampling window
+     */
+    double getSelectsPerSecond();
+
+    long getProcessCount();
+
+    double getProcessNanosMean();
+
+    long getProcessNanosP50();
+
+    long getProcessNanosP99();
+
+    long getProcessNanosP999();
+
+    long getProcessNanosMax();
+
+    /**
+     * @return number of sessions waiting for a reactor right now
+     */
+    int getQueueDepth();
+
+    long getQueueDepthP99();
+
+    long getQueueDepthMax();
+
+    /**
+     * clears histograms
+     */
+    void resetHistograms();
+}
@@ -0,0 +1,255 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe pool of fixed size direct ByteBuffers.<br>
+ * <br>
+ * Buffers are sliced from slabs (one allocateDirect per slab) and recycled through a small
+ * per-thread cache backed by a shared queue.<br>
+ * Only platform threads which lease get a cache. Others (e.g. a thread terminating somebody else's
+ * session, or virtual threads which live for a single task) release to the shared queue, so buffers
+ * never pile up in caches nobody leases from.<br>
+ * Heap buffers are copied to a temporary direct buffer by the JDK on every channel read/write,
+ * so pooled direct buffers save a copy and GC pressure per I/O.<br>
+ * <br>
+ * If more than maxBuffers are leased at once, extra buffers are allocated one by one. Same number
+ * of buffers are dropped on release, so the pool never keeps more than maxBuffers.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class BufferPool {
+    /**
+     * size of each buffer in byte
+     */
+    private final int bufferSize;
+    /**
+     * number of buffers per slab
+     */
+    private final int slabSize;
+    /**
+     * max number of buffers to keep
+     */
+    private final int maxBuffers;
+    /**
+     * max number of buffers in each thread's cache
+     */
+    private final int threadCacheSize;
+
+    private transient final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+    private transient final ThreadLocal<ArrayDeque<ByteBuffer>> threadCache;
+    /**
+     * number of buffers allocated as part of slabs (never exceeds maxBuffers)
+     */
+    private transient final AtomicInteger pooledCount = new AtomicInteger(0);
+    /**
+     * number of leased buffers allocated beyond maxBuffers
+     */
+    private transient final AtomicInteger extraCount = new AtomicInteger(0);
+
+    private transient final LongAdder leases = new LongAdder();
+    private transient final LongAdder misses = new LongAdder();
+    private transient final LongAdder outstanding = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param bufferSize size of each buffer in byte
+     * @param maxBuffers max number of buffers to keep
+     */
+    public BufferPool(final int bufferSize, final int maxBuffers) {
+        this(bufferSize, maxBuffers, 64, 16);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param bufferSize      size of each buffer in byte
+     * @param maxBuffers      max number of buffers to keep
+     * @param slabSize        number of buffers per slab
+     * @param threadCacheSize max number of buffers in each thread's cache (0: no thread cache)
+     */
+    public BufferPool(final int bufferSize, final int maxBuffers, final int slabSize, final int threadCacheSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be greater than 0");
+        }
+        if (slabSize <= 0) {
+            throw new IllegalArgumentException("slabSize must be greater than 0");
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.slabSize = slabSize;
+        this.threadCacheSize = threadCacheSize;
+        // no initial value, created on first lease()
+        threadCache = new ThreadLocal<>();
+    }
+
+    /**
+     * @return a cleared buffer
+     */
+    public ByteBuffer lease() {
+        leases.increment();
+        outstanding.increment();
+
+        ByteBuffer result = null;
+        if (threadCacheSize > 0) {
+            ArrayDeque<ByteBuffer> cache = threadCache.get();
+            if (cache == null) {
+                // checked once per thread, a virtual thread never gets a cache
+                if (!VirtualThreads.isVirtual(Thread.currentThread())) {
+                    threadCache.set(new ArrayDeque<>(threadCacheSize));
+                }
+            } else {
+                result = cache.pollFirst();
+            }
+        }
+        if (result == null) {
+            result = pool.poll();
+        }
+        if (result == null) {
+            misses.increment();
+            result = allocate();
+        }
+
+        return result;
+    }
+
+    /**
+     * returns a buffer to pool
+     *
+     * @param buffer buffer from lease()
+     */
+    public void release(final ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+
+        outstanding.decrement();
+
+        // buffers are interchangeable, so drop this one instead of the extra one
+        if (buffer.isDirect() && buffer.capacity() == bufferSize && !dropExtra()) {
+            buffer.clear();
+
+            boolean cached = false;
+            if (threadCacheSize > 0) {
+                ArrayDeque<ByteBuffer> cache = threadCache.get();
+                if (cache != null && cache.size() < threadCacheSize) {
+                    cache.addFirst(buffer);
+                    cached = true;
+                }
+            }
+            if (!cached) {
+                pool.offer(buffer);
+            }
+        }
+    }
+
+    private ByteBuffer allocate() {
+        int count;
+        do {
+            count = pooledCount.get();
+            if (count >= maxBuffers) {
+                // pool is full
+                extraCount.incrementAndGet();
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+        } while (!pooledCount.compareAndSet(count, Math.min(maxBuffers, count + slabSize)));
+
+        int slices = Math.min(maxBuffers, count + slabSize) - count;
+        ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * slices);
+
+        ByteBuffer result = null;
+        for (int i = 0; i < slices; i++) {
+            slab.limit((i + 1) * bufferSize);
+            slab.position(i * bufferSize);
+            ByteBuffer slice = slab.slice();
+            if (result == null) {
+                result = slice;
+            } else {
+                pool.offer(slice);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return true: an extra buffer is accounted as dropped
+     */
+    private boolean dropExtra() {
+        int count;
+        do {
+            count = extraCount.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!extraCount.compareAndSet(count, count - 1));
+        return true;
+    }
+
+    /**
+     * @return size of each buffer in byte
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * @return total number of lease() calls
+     */
+    public long getLeaseCount() {
+        return leases.sum();
+    }
+
+    /**
+     * @return number of lease() calls which had to allocate
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of leased buffers not released yet
+     */
+    public long getOutstandingCount() {
+        return outstanding.sum();
+    }
+
+    /**
+     * @return number of buffers sliced from slabs so far
+     */
+    public int getPooledCount() {
+        return pooledCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool[bufferSize=" + bufferSize + ", pooled=" + getPooledCount() + ", leases="
+                + getLeaseCount() + ", misses=" + getMissCount() + ", outstanding=" + getOutstandingCount() + "]";
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A region of a file to send with FileChannel.transferTo (zero-copy).<br>
+ * Keeps track of transferred bytes, so partial transfers can be resumed.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ * @see SocketChannelWrapper#write(FileRegion)
+ */
+@SuppressWarnings("WeakerAccess")
+public class FileRegion {
+    private transient final FileChannel file;
+    private final long position;
+    private final long count;
+    /**
+     * true: close file when transfer is completed or aborted
+     */
+    private final boolean closeOnComplete;
+
+    private long transferred = 0;
+
+    /**
+     * Constructor
+     *
+     * @param file            file to send
+     * @param position        position of first byte to send
+     * @param count           number of bytes to send
+     * @param closeOnComplete true: close file when transfer is completed or aborted
+     */
+    public FileRegion(final FileChannel file, final long position, final long count, final boolean closeOnComplete) {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException("position and count must not be negative");
+        }
+
+        this.file = file;
+        this.position = position;
+        this.count = count;
+        this.closeOnComplete = closeOnComplete;
+    }
+
+    /**
+     * transfers remaining bytes as many as target takes
+     *
+     * @param target channel to write
+     * @return transferred bytes
+     * @throws IOException file is shorter than this region or I/O error
+     */
+    long transferTo(final WritableByteChannel target) throws IOException {
+        long result = file.transferTo(position + transferred, count - transferred, target);
+
+        if (result == 0 && position + transferred >= file.size()) {
+            throw new EOFException("file is shorter than region");
+        }
+        transferred += result;
+
+        return result;
+    }
+
+    /**
+     * closes file if closeOnComplete is set (safe to call more than once)
+     */
+    public void release() {
+        if (closeOnComplete) {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public boolean isDone() {
+        return transferred >= count;
+    }
+
+    public long getRemaining() {
+        return count - transferred;
+    }
+
+    public FileChannel getFile() {
+        return file;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTransferred() {
+        return transferred;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.net.InetAddress;
+
+/**
+ * Assigns channels from same remote host to same SelectThread.<br>
+ * Uses jump consistent hash, so only 1/n of hosts move when a thread is added.<br>
+ * Channels without remote address are assigned round-robin.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class HashAffinityStrategy implements SelectorAssignmentStrategy {
+    private transient final RoundRobinStrategy fallback = new RoundRobinStrategy();
+
+    public SelectThread select(final SocketChannelWrapper wrapper, final SelectThread[] threads) {
+        SelectThread result;
+
+        InetAddress address = wrapper.getRemoteAddress();
+        if (address == null) {
+            result = fallback.select(wrapper, threads);
+        } else {
+            result = threads[jumpHash(hash(address.getAddress()), threads.length)];
+        }
+
+        return result;
+    }
+
+    /**
+     * 64 bit FNV-1a
+     *
+     * @param data data to hash
+     * @return hash
+     */
+    static long hash(final byte[] data) {
+        long result = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            result ^= (b & 0xff);
+            result *= 0x100000001b3L;
+        }
+        return result;
+    }
+
+    /**
+     * Jump consistent hash (Lamping &amp; Veach)
+     *
+     * @param key     key to hash
+     * @param buckets number of buckets
+     * @return bucket index
+     */
+    static int jumpHash(final long key, final int buckets) {
+        long k = key;
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            k = k * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((k >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
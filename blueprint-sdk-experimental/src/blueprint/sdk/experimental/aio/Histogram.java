@@ -0,0 +1,177 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe histogram of non-negative longs, with fixed relative precision (HdrHistogram style).<br>
+ * <br>
+ * Each power of 2 is split into 2^precision linear buckets, so a recorded value is off by less
+ * than 1/2^precision (e.g. 4: 6.25%). Values below 2^(precision + 1) are exact.<br>
+ * Buckets are LongAdders, so recording from many threads never contends on a single counter.<br>
+ * Reads are not atomic snapshots. Percentiles of a busy histogram are approximate.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class Histogram {
+    /**
+     * number of bits for linear buckets in each power of 2
+     */
+    private final int precision;
+    /**
+     * number of linear buckets in each power of 2
+     */
+    private final int subBuckets;
+
+    private transient final LongAdder[] buckets;
+    private transient final LongAdder count = new LongAdder();
+    private transient final LongAdder sum = new LongAdder();
+    private transient final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor with 6.25% precision
+     */
+    public Histogram() {
+        this(4);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param precision number of bits for linear buckets in each power of 2 (1 ~ 10)
+     */
+    public Histogram(final int precision) {
+        if (precision < 1 || precision > 10) {
+            throw new IllegalArgumentException("precision must be between 1 and 10");
+        }
+
+        this.precision = precision;
+        subBuckets = 1 << precision;
+
+        buckets = new LongAdder[(64 - precision) * subBuckets];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param value value to record (negative values are recorded as 0)
+     */
+    public void record(final long value) {
+        long target = Math.max(value, 0);
+
+        buckets[indexOf(target)].increment();
+        count.increment();
+        sum.add(target);
+        max.accumulate(target);
+    }
+
+    private int indexOf(final long value) {
+        int shift = 63 - Long.numberOfLeadingZeros(value) - precision;
+        if (shift <= 0) {
+            // exact below 2^(precision + 1)
+            return (int) value;
+        }
+        return (shift + 1) * subBuckets + (int) ((value >>> shift) - subBuckets);
+    }
+
+    /**
+     * @return largest value which falls into given bucket
+     */
+    private long highestOf(final int index) {
+        if (index < 2 * subBuckets) {
+            return index;
+        }
+
+        int shift = index / subBuckets - 1;
+        long lowest = (long) (index % subBuckets + subBuckets) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * @param percentile 0 ~ 100
+     * @return smallest recorded value which given percent of values are less than or equal to
+     * (within precision, 0: nothing recorded)
+     */
+    public long getPercentile(final double percentile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestOf(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return mean of recorded values (0: nothing recorded)
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @return largest recorded value (exact)
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Clears all values. Values recorded concurrently may be partially cleared.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram[count=" + getCount() + ", p50=" + getPercentile(50) + ", p99=" + getPercentile(99)
+                + ", p99.9=" + getPercentile(99.9) + ", max=" + getMax() + "]";
+    }
+}
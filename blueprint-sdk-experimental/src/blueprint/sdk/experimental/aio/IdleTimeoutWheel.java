@@ -0,0 +1,238 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import blueprint.sdk.experimental.aio.session.Session;
+import blueprint.sdk.logger.Logger;
+import blueprint.sdk.util.Terminatable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Terminates idle Sessions with a hashed timing wheel.<br>
+ * <br>
+ * Each I/O only stores current tick to SocketChannelWrapper (a volatile write). Each session
+ * sits in one bucket at a time. When the wheel reaches a bucket, sessions in it are either
+ * terminated (idle for timeout) or moved to the bucket of their new deadline.<br>
+ * So the cost is O(1) per I/O and per expiry check, instead of a shared update per I/O and
+ * a full scan per interval.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class IdleTimeoutWheel implements Terminatable, Runnable {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    /**
+     * idle timeout in ticks
+     */
+    private final long timeoutTicks;
+    /**
+     * length of a tick in msec
+     */
+    private final long tickMillis;
+    private transient final Queue<Entry>[] buckets;
+    private final int mask;
+
+    /**
+     * current tick (coarse clock for touches)
+     */
+    private transient volatile long currentTick;
+    private transient final AtomicInteger count = new AtomicInteger(0);
+
+    private transient volatile boolean running = false;
+    private transient boolean terminated = false;
+
+    /**
+     * Constructor (ticks every second)
+     *
+     * @param timeoutSeconds idle timeout in seconds
+     */
+    public IdleTimeoutWheel(final int timeoutSeconds) {
+        this(timeoutSeconds * 1000L, 1000L, 64);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param timeoutMillis idle timeout in msec
+     * @param tickMillis    length of a tick in msec (accuracy of timeout)
+     * @param wheelSize     number of buckets (rounded up to power of 2)
+     */
+    @SuppressWarnings("unchecked")
+    public IdleTimeoutWheel(final long timeoutMillis, final long tickMillis, final int wheelSize) {
+        if (timeoutMillis <= 0 || tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("timeoutMillis, tickMillis and wheelSize must be greater than 0");
+        }
+
+        this.tickMillis = tickMillis;
+        timeoutTicks = Math.max(1, (timeoutMillis + tickMillis - 1) / tickMillis);
+
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        mask = size - 1;
+
+        currentTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * starts ticking with a daemon thread
+     */
+    public void start() {
+        running = true;
+
+        Thread thr = new Thread(this);
+        thr.setName("IdleTimeoutWheel");
+        thr.setDaemon(true);
+        thr.start();
+    }
+
+    /**
+     * starts tracking given session's idle time (touched by its SocketChannelWrapper)
+     *
+     * @param session session to track
+     */
+    public void add(final Session session) {
+        SocketChannelWrapper wrapper = session.getWrapper();
+        wrapper.setIdleTimeoutWheel(this);
+
+        Entry entry = new Entry(session);
+        schedule(entry, currentTick + timeoutTicks);
+        count.incrementAndGet();
+    }
+
+    /**
+     * @return current tick (value to store on each touch)
+     */
+    public long currentTick() {
+        return currentTick;
+    }
+
+    private void schedule(final Entry entry, final long deadline) {
+        entry.deadline = deadline;
+        buckets[(int) (deadline & mask)].offer(entry);
+    }
+
+    public void run() {
+        LOGGER.debug(this, "idle timeout wheel started");
+
+        long lastTick = currentTick;
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException ignored) {
+            }
+
+            long now = System.currentTimeMillis() / tickMillis;
+            currentTick = now;
+
+            // catch up if ticks are missed
+            long from = Math.max(lastTick + 1, now - mask);
+            for (long tick = from; tick <= now; tick++) {
+                expire(tick);
+            }
+            lastTick = now;
+        }
+
+        terminated = true;
+
+        LOGGER.debug(this, "idle timeout wheel stopped");
+    }
+
+    /**
+     * checks a bucket
+     *
+     * @param tick tick to check
+     */
+    private void expire(final long tick) {
+        Queue<Entry> bucket = buckets[(int) (tick & mask)];
+
+        // entries rescheduled to this bucket are checked on next round
+        int size = bucket.size();
+        for (int i = 0; i < size; i++) {
+            Entry entry = bucket.poll();
+            if (entry == null) {
+                break;
+            }
+
+            Session session = entry.session;
+            if (session.isTerminated() || !session.isValid() || session.getWrapper() != entry.wrapper) {
+                // closed, or reused for another channel (tracked by another entry)
+                count.decrementAndGet();
+            } else if (entry.deadline > tick) {
+                // belongs to a later round
+                bucket.offer(entry);
+            } else {
+                long deadline = session.getWrapper().getLastAccessTick() + timeoutTicks;
+                if (deadline <= tick) {
+                    count.decrementAndGet();
+                    LOGGER.debug(this, "terminating idle session - " + session);
+                    try {
+                        session.terminate();
+                    } catch (Exception e) {
+                        LOGGER.trace(e);
+                    }
+                } else {
+                    schedule(entry, deadline);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of tracked sessions
+     */
+    public int size() {
+        return count.get();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public boolean isValid() {
+        return running;
+    }
+
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    public void terminate() {
+        running = false;
+    }
+
+    private static final class Entry {
+        private final Session session;
+        /**
+         * session's wrapper when added (changes if the session is reused)
+         */
+        private final SocketChannelWrapper wrapper;
+        private long deadline;
+
+        private Entry(final Session session) {
+            this.session = session;
+            wrapper = session.getWrapper();
+        }
+    }
+}
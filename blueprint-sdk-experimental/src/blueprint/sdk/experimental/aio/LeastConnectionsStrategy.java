@@ -0,0 +1,38 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+/**
+ * Assigns a channel to the SelectThread with the fewest channels.<br>
+ * Fits long-lived connections with skewed load, where round-robin leaves some threads idle.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class LeastConnectionsStrategy implements SelectorAssignmentStrategy {
+    public SelectThread select(final SocketChannelWrapper wrapper, final SelectThread[] threads) {
+        SelectThread result = threads[0];
+        int least = result.getChannelCount();
+
+        for (int i = 1; i < threads.length && least > 0; i++) {
+            int count = threads[i].getChannelCount();
+            if (count < least) {
+                least = count;
+                result = threads[i];
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory budget for outbound queues shared by all sessions of a Proactor.<br>
+ * <br>
+ * While queued bytes exceed highWaterMark, every session which writes more stops reading.<br>
+ * Once they drop to lowWaterMark, all of them resume reading.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class OutboundBudget {
+    private final long highWaterMark;
+    private final long lowWaterMark;
+
+    /**
+     * bytes in outbound queues
+     */
+    private transient final AtomicLong bytes = new AtomicLong(0);
+    /**
+     * channels which stopped reading because of this budget
+     */
+    private transient final Queue<SocketChannelWrapper> paused = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor
+     *
+     * @param highWaterMark sessions stop reading above this (bytes)
+     * @param lowWaterMark  sessions resume reading at or below this (bytes)
+     */
+    public OutboundBudget(final long highWaterMark, final long lowWaterMark) {
+        if (lowWaterMark > highWaterMark) {
+            throw new IllegalArgumentException("lowWaterMark must not be greater than highWaterMark");
+        }
+
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    void add(final long length) {
+        bytes.addAndGet(length);
+    }
+
+    void release(final long length) {
+        if (bytes.addAndGet(-length) <= lowWaterMark && !paused.isEmpty()) {
+            resumeAll();
+        }
+    }
+
+    /**
+     * @return true: queued bytes exceed highWaterMark
+     */
+    public boolean isExhausted() {
+        return bytes.get() > highWaterMark;
+    }
+
+    /**
+     * keeps a paused channel until queued bytes drop to lowWaterMark
+     *
+     * @param wrapper paused channel
+     */
+    void park(final SocketChannelWrapper wrapper) {
+        paused.offer(wrapper);
+
+        // budget could be released before offer
+        if (bytes.get() <= lowWaterMark) {
+            resumeAll();
+        }
+    }
+
+    private void resumeAll() {
+        SocketChannelWrapper wrapper;
+        while ((wrapper = paused.poll()) != null) {
+            wrapper.resumeFromBudget();
+        }
+    }
+
+    /**
+     * @return bytes in outbound queues
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return number of channels paused by this budget
+     */
+    public int getPausedCount() {
+        return paused.size();
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getLowWaterMark() {
+        return lowWaterMark;
+    }
+}
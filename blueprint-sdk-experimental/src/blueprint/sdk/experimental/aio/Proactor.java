@@ -13,25 +13,31 @@
 
 package blueprint.sdk.experimental.aio;
 
-import blueprint.sdk.core.concurrent.JobQueue;
 import blueprint.sdk.core.concurrent.TimeoutHandler;
-import blueprint.sdk.core.concurrent.WorkerGroup;
 import blueprint.sdk.experimental.aio.session.Session;
+import blueprint.sdk.experimental.aio.session.SessionRegistry;
 import blueprint.sdk.logger.Logger;
 import blueprint.sdk.util.Terminatable;
 import blueprint.sdk.util.Validator;
 import blueprint.sdk.util.jvm.shutdown.Terminator;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.channels.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
 
 /**
- * Proactor for Service
+ * Proactor for Service<br>
+ * <br>
+ * Sessions are processed by a work-stealing pool of reactors (or given Executor).<br>
+ * Each session is processed by at most one reactor at a time (see Session.schedule()).<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 25.
@@ -39,27 +45,83 @@ import java.util.concurrent.ConcurrentHashMap;
 public class Proactor implements Terminatable {
     private static final Logger LOGGER = Logger.getInstance();
 
+    /**
+     * queue depth is sampled once per this many dispatches (counting queued tasks isn't free)
+     */
+    private static final int QUEUE_DEPTH_SAMPLING = 16;
+
     private transient final SelectorLoadBalancer readSelectorLB;
     private transient final List<ReadThread> readThreads;
-    private transient final WorkerGroup<Object, JobQueue<Object>> reactors;
     /**
-     * map of Sessions (to SocketChannel's hashcode)
+     * work-stealing pool which runs Reactor.run(Session) (null: reactorCount is 0)
+     */
+    private transient final ForkJoinPool reactors;
+    /**
+     * registry of Sessions (to Session's id)
+     */
+    private transient final SessionRegistry sessionRegistry;
+    private transient final SessionFactory sessionFactory;
+    /**
+     * hands closed sessions back to sessionFactory
      */
-    private transient final ConcurrentHashMap<Integer, Session> sessionMap;
-    private final Constructor<? extends Session> sessionCons;
+    private transient final Consumer<Session> recycler;
 
     /**
      * I/O buffer size in byte
      */
     private final int bufferSize;
+    /**
+     * pool of read buffers (null: heap buffer per session)
+     */
+    private transient final BufferPool bufferPool;
     private transient TimeoutHandler timeoutHandler = null;
+    /**
+     * terminates idle sessions (null: no idle timeout)
+     */
+    private transient IdleTimeoutWheel idleTimeoutWheel = null;
+    /**
+     * true: sessions hold read buffer only while there's something to read
+     */
+    private boolean lazyReadBuffer = false;
+    /**
+     * true: sessions queue outbound data instead of blocking reactors
+     */
+    private boolean nonBlockingWrite = false;
+    /**
+     * sessions stop reading above this (bytes in outbound queue, 0: disabled)
+     */
+    private long highWaterMark = 0;
+    /**
+     * sessions resume reading at or below this (bytes in outbound queue)
+     */
+    private long lowWaterMark = 0;
+    /**
+     * budget of outbound queues shared by all sessions (null: unlimited)
+     */
+    private transient OutboundBudget outboundBudget = null;
+    /**
+     * flushes outbound queues (created on first use)
+     */
+    private transient WriteThread writeThread = null;
+    /**
+     * runs Session.process() instead of reactors (null: use reactors)
+     */
+    private transient volatile Executor executor = null;
+    /**
+     * true: read threads run Session.process() inline (thread-per-core)
+     */
+    private volatile boolean shardMode = false;
+    /**
+     * counters & histograms of this proactor and its services
+     */
+    private transient final AioMetrics metrics = new AioMetrics();
 
     private transient boolean terminated = false;
 
     /**
      * Constructor
      *
-     * @param reactorClass   Reactor's class
+     * @param reactorClass   Reactor.class (sessions are run by Reactor.run on a work-stealing pool)
      * @param reactorCount   number of reactors to use
      * @param readerCount    number of reader thread to use
      * @param sessionClass   an implementation Class of Session
@@ -67,35 +129,161 @@ public class Proactor implements Terminatable {
      * @throws IOException           Failed to open a Selector
      * @throws NoSuchMethodException Can't get constructor for session
      * @throws SecurityException     Can't get constructor for session
+     * @throws IllegalArgumentException reactorClass is a subclass of Reactor, which would be ignored
+     * @deprecated use Proactor(int, int, Class, int) instead
      */
+    @Deprecated
     @SuppressWarnings("SameParameterValue")
     public Proactor(final Class<Reactor> reactorClass, final int reactorCount, final int readerCount,
                     final Class<? extends Session> sessionClass, final int readBufferSize) throws IOException,
             SecurityException, NoSuchMethodException {
+        this(checkReactorClass(reactorClass, reactorCount), readerCount, sessionClass, readBufferSize);
+    }
+
+    /**
+     * @return reactorCount (called before this(...), so it checks & passes an argument through)
+     */
+    private static int checkReactorClass(final Class<Reactor> reactorClass, final int reactorCount) {
+        if (Validator.isNotNull(reactorClass) && reactorClass != Reactor.class) {
+            throw new IllegalArgumentException("Reactor subclasses are not used anymore - "
+                    + reactorClass.getName());
+        }
+        return reactorCount;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param reactorCount   number of reactors to use
+     * @param readerCount    number of reader thread to use
+     * @param sessionClass   an implementation Class of Session
+     * @param readBufferSize read buffer size in byte
+     * @throws IOException           Failed to open a Selector
+     * @throws NoSuchMethodException Can't get constructor for session
+     * @throws SecurityException     Can't get constructor for session
+     */
+    @SuppressWarnings("SameParameterValue")
+    public Proactor(final int reactorCount, final int readerCount, final Class<? extends Session> sessionClass,
+                    final int readBufferSize) throws IOException, SecurityException, NoSuchMethodException {
+        this(reactorCount, readerCount, sessionClass, readBufferSize, new RoundRobinStrategy());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param reactorCount   number of reactors to use
+     * @param readerCount    number of reader thread to use
+     * @param sessionClass   an implementation Class of Session
+     * @param readBufferSize read buffer size in byte
+     * @param strategy       assigns a read thread to each channel
+     * @throws IOException           Failed to open a Selector
+     * @throws NoSuchMethodException Can't get constructor for session
+     * @throws SecurityException     Can't get constructor for session
+     */
+    @SuppressWarnings("SameParameterValue")
+    public Proactor(final int reactorCount, final int readerCount,
+                    final Class<? extends Session> sessionClass, final int readBufferSize,
+                    final SelectorAssignmentStrategy strategy) throws IOException,
+            SecurityException, NoSuchMethodException {
+        this(reactorCount, readerCount, new ReflectiveSessionFactory(sessionClass, false),
+                readBufferSize, null, strategy);
+    }
+
+    /**
+     * Constructor for pooled read buffers<br>
+     * sessionClass must have a constructor with BufferPool instead of Integer (buffer size).<br>
+     *
+     * @param reactorCount number of reactors to use
+     * @param readerCount  number of reader thread to use
+     * @param sessionClass an implementation Class of Session
+     * @param bufferPool   pool of read buffers
+     * @param strategy     assigns a read thread to each channel
+     * @throws IOException           Failed to open a Selector
+     * @throws NoSuchMethodException Can't get constructor for session
+     * @throws SecurityException     Can't get constructor for session
+     */
+    @SuppressWarnings("SameParameterValue")
+    public Proactor(final int reactorCount, final int readerCount,
+                    final Class<? extends Session> sessionClass, final BufferPool bufferPool,
+                    final SelectorAssignmentStrategy strategy) throws IOException,
+            SecurityException, NoSuchMethodException {
+        this(reactorCount, readerCount, new ReflectiveSessionFactory(sessionClass, true),
+                bufferPool.getBufferSize(), bufferPool, strategy);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param reactorCount   number of reactors to use
+     * @param readerCount    number of reader thread to use
+     * @param sessionFactory creates a session for each accepted channel
+     * @param readBufferSize read buffer size in byte
+     * @param strategy       assigns a read thread to each channel
+     * @throws IOException Failed to open a Selector
+     */
+    public Proactor(final int reactorCount, final int readerCount,
+                    final SessionFactory sessionFactory, final int readBufferSize,
+                    final SelectorAssignmentStrategy strategy) throws IOException {
+        this(reactorCount, readerCount, sessionFactory, readBufferSize, null, strategy);
+    }
+
+    /**
+     * Constructor for pooled read buffers
+     *
+     * @param reactorCount   number of reactors to use
+     * @param readerCount    number of reader thread to use
+     * @param sessionFactory creates a session for each accepted channel
+     * @param bufferPool     pool of read buffers
+     * @param strategy       assigns a read thread to each channel
+     * @throws IOException Failed to open a Selector
+     */
+    public Proactor(final int reactorCount, final int readerCount,
+                    final SessionFactory sessionFactory, final BufferPool bufferPool,
+                    final SelectorAssignmentStrategy strategy) throws IOException {
+        this(reactorCount, readerCount, sessionFactory, bufferPool.getBufferSize(), bufferPool,
+                strategy);
+    }
+
+    private Proactor(final int reactorCount, final int readerCount,
+                     final SessionFactory sessionFactory, final int readBufferSize,
+                     final BufferPool bufferPool, final SelectorAssignmentStrategy strategy) throws IOException {
         if (readerCount == 0) {
             throw new IllegalArgumentException("readerThreads must be greater than 0");
         }
         LOGGER.info(this, "creating proactor with " + readerCount + " read threads");
 
         bufferSize = readBufferSize;
-        sessionMap = new ConcurrentHashMap<>();
-        sessionCons = sessionClass.getConstructor(SocketChannel.class, ConcurrentHashMap.class, Integer.class,
-                SelectorLoadBalancer.class);
-
-        List<Selector> selectors = new ArrayList<>(readerCount);
-        for (int i = 0; i < readerCount; i++) {
-            selectors.add(SelectorFactory.get());
-        }
-        readSelectorLB = new SelectorLoadBalancer(selectors);
+        this.bufferPool = bufferPool;
+        sessionRegistry = new SessionRegistry();
+        this.sessionFactory = sessionFactory;
+        recycler = sessionFactory::recycle;
 
         readThreads = new ArrayList<>(readerCount);
+        List<SelectThread> selectThreads = new ArrayList<>(readerCount);
         for (int i = 0; i < readerCount; i++) {
-            ReadThread thread = new ReadThread(selectors.get(i));
+            ReadThread thread = new ReadThread(SelectorFactory.get());
+            thread.setMetrics(metrics);
+            thread.setReleaseSelector(true);
             thread.start();
             readThreads.add(thread);
+            selectThreads.add(thread);
+        }
+        readSelectorLB = new SelectorLoadBalancer(selectThreads, strategy);
+
+        if (reactorCount > 0) {
+            // async mode: FIFO order for event-style tasks which are never joined
+            reactors = new ForkJoinPool(reactorCount, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Reactor-" + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+        } else {
+            // shard mode or executor only
+            reactors = null;
         }
 
-        reactors = new WorkerGroup<>(new JobQueue<>(), reactorClass, reactorCount);
+        metrics.setActiveSessions(sessionRegistry::size);
+        metrics.setQueueDepthGauge(this::getQueueDepth);
 
         Terminator term = Terminator.getInstance();
         term.register(this);
@@ -107,31 +295,57 @@ public class Proactor implements Terminatable {
     protected boolean accept(final SocketChannel channel) {
         Session session = null;
         try {
-            session = sessionCons.newInstance(channel, sessionMap, bufferSize, readSelectorLB);
-        } catch (IllegalArgumentException | InstantiationException | InvocationTargetException | IllegalAccessException e) {
+            session = sessionFactory.newSession(channel, this);
+        } catch (Exception e) {
             LOGGER.error(e);
             LOGGER.trace(e);
         }
 
+        if (session == null) {
+            metrics.rejected();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+
         boolean result = false;
 
         if (Validator.isNotNull(session)) {
             LOGGER.debug(this, "registering a session - " + session);
+            metrics.accepted();
 
             SocketChannelWrapper wrapper = session.getWrapper();
+            wrapper.setMetrics(metrics);
 
             try {
                 channel.configureBlocking(false);
 
                 LOGGER.debug(this, "a session is registered - " + session);
 
-                if (Validator.isNotNull(timeoutHandler)) {
+                if (Validator.isNotNull(idleTimeoutWheel)) {
+                    idleTimeoutWheel.add(session);
+                } else if (Validator.isNotNull(timeoutHandler)) {
                     wrapper.setTimeoutHandler(timeoutHandler);
                 }
+                if (nonBlockingWrite) {
+                    wrapper.setWriteThread(writeThread);
+                    wrapper.setWaterMarks(highWaterMark, lowWaterMark);
+                    wrapper.setOutboundBudget(outboundBudget);
+                }
 
-                sessionMap.put(channel.hashCode(), session);
-
-                reactors.addJob(session);
+                sessionRegistry.put(session);
+                session.setRecycler(recycler);
+                wrapper.setAttachment(session);
+
+                if (lazyReadBuffer) {
+                    // no buffer until the channel becomes readable
+                    session.setLazyReadBuffer(true);
+                    readSelectorLB.register(wrapper, SelectionKey.OP_READ);
+                } else {
+                    // read buffer is attached by the processing thread
+                    dispatch(session);
+                }
             } catch (ClosedChannelException e) {
                 LOGGER.debug(this, "a channel is failed to register - " + session);
             } catch (Exception e) {
@@ -146,6 +360,108 @@ public class Proactor implements Terminatable {
         return result;
     }
 
+    /**
+     * posts an event to session's mailbox & hands the session over to reactors or executor
+     * unless it's already scheduled
+     *
+     * @param ses session to process
+     */
+    private void dispatch(final Session ses) {
+        if (ses.schedule()) {
+            if (shardMode) {
+                runOnShard(ses);
+            } else {
+                submit(ses);
+            }
+        }
+    }
+
+    /**
+     * runs a session on its read thread (inline if current thread is the read thread)
+     *
+     * @param ses session to process
+     */
+    private void runOnShard(final Session ses) {
+        SelectThread shard = readSelectorLB.bind(ses.getWrapper());
+        if (shard == null) {
+            drop(ses);
+        } else if (shard.isInSelectThread()) {
+            runToCompletion(ses);
+        } else {
+            // first dispatch from acceptor
+            shard.execute(() -> runToCompletion(ses));
+        }
+    }
+
+    private static void runToCompletion(final Session ses) {
+        //noinspection StatementWithEmptyBody
+        while (Reactor.run(ses)) {
+            // events were posted while running
+        }
+    }
+
+    private void submit(final Session ses) {
+        Executor exec = executor;
+        if (exec == null) {
+            exec = reactors;
+        }
+        if (exec == null) {
+            LOGGER.error(this, "no reactors nor executor to process a session - " + ses);
+            drop(ses);
+            return;
+        }
+
+        if (ThreadLocalRandom.current().nextInt(QUEUE_DEPTH_SAMPLING) == 0) {
+            metrics.queued(getQueueDepth());
+        }
+
+        try {
+            exec.execute(() -> {
+                if (Reactor.run(ses)) {
+                    // events were posted while running, go back to the end of the queue
+                    submit(ses);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.error(this, "executor rejected a session - " + ses);
+            drop(ses);
+        }
+    }
+
+    /**
+     * terminates a scheduled session which no worker will run
+     *
+     * @param ses session to drop
+     */
+    private static void drop(final Session ses) {
+        if (ses.beginProcess()) {
+            ses.terminate();
+            ses.endProcess();
+        } else {
+            ses.terminate();
+        }
+    }
+
+    /**
+     * @return number of sessions waiting for reactors or executor (0: unknown executor)
+     */
+    private int getQueueDepth() {
+        Executor exec = executor;
+        if (exec == null) {
+            exec = reactors;
+        }
+
+        long result = 0;
+        if (exec instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) exec;
+            result = pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+        } else if (exec instanceof ThreadPoolExecutor) {
+            result = ((ThreadPoolExecutor) exec).getQueue().size();
+        }
+
+        return (int) Math.min(result, Integer.MAX_VALUE);
+    }
+
     public boolean isValid() {
         return true;
     }
@@ -157,7 +473,9 @@ public class Proactor implements Terminatable {
     public void terminate() {
         LOGGER.info(this, "terminating proactor");
 
-        reactors.terminate();
+        if (Validator.isNotNull(reactors)) {
+            reactors.shutdown();
+        }
 
         {
             for (ReadThread readThread : readThreads) {
@@ -168,13 +486,24 @@ public class Proactor implements Terminatable {
 
         readSelectorLB.terminate();
 
+        synchronized (this) {
+            if (Validator.isNotNull(writeThread)) {
+                // releases its selector once it stops selecting
+                writeThread.terminate();
+                writeThread = null;
+            }
+        }
+
         {
-            for (Session session : sessionMap.values()) {
+            for (Session session : sessionRegistry.values()) {
+                // recycled once its reactor (if any) is done with it
                 session.terminate();
             }
-            sessionMap.clear();
+            sessionRegistry.clear();
         }
 
+        metrics.unregisterAll();
+
         terminated = true;
 
         LOGGER.info(this, "proactor teminated");
@@ -188,14 +517,161 @@ public class Proactor implements Terminatable {
         this.timeoutHandler = timeoutHandler;
     }
 
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Runs Session.process() with given executor instead of reactors.<br>
+     * Fits handlers which block (JDBC calls and so on), e.g. VirtualThreads.newExecutor().<br>
+     * Same session is never processed concurrently. Caller owns the executor's lifecycle.<br>
+     *
+     * @param executor executor to use (null: use reactors)
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public boolean isShardMode() {
+        return shardMode;
+    }
+
+    /**
+     * Thread-per-core (run-to-completion) mode.<br>
+     * Each read thread owns a selector and the channels pinned to it, and runs Session.process()
+     * inline right after select, with no handoff to reactors. Read buffers are leased and released
+     * on the read thread, so BufferPool's per-thread cache works as each shard's own pool.<br>
+     * <br>
+     * Create Proactor with a read thread per core (reactorCount can be 0) and set before accepting.
+     * Session.process() must not block, so consider setNonBlockingWrite(true).<br>
+     * Executor is ignored in this mode.<br>
+     *
+     * @param shardMode true: run Session.process() on read threads
+     */
+    public void setShardMode(final boolean shardMode) {
+        this.shardMode = shardMode;
+    }
+
+    public IdleTimeoutWheel getIdleTimeoutWheel() {
+        return idleTimeoutWheel;
+    }
+
+    /**
+     * @param idleTimeoutWheel terminates idle sessions (preferred to TimeoutHandler)
+     */
+    public void setIdleTimeoutWheel(final IdleTimeoutWheel idleTimeoutWheel) {
+        this.idleTimeoutWheel = idleTimeoutWheel;
+    }
+
     public int getBufferSize() {
         return bufferSize;
     }
 
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
+    public SelectorLoadBalancer getReadSelectorLB() {
+        return readSelectorLB;
+    }
+
+    public SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * @return counters & histograms of this proactor and its services
+     */
+    public AioMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isNonBlockingWrite() {
+        return nonBlockingWrite;
+    }
+
+    /**
+     * Sessions accepted afterwards queue outbound data and return immediately, instead of
+     * blocking a Reactor until slow clients take it.<br>
+     *
+     * @param nonBlockingWrite true: flush outbound data with a dedicated WriteThread
+     * @throws IOException Failed to open a Selector
+     */
+    public synchronized void setNonBlockingWrite(final boolean nonBlockingWrite) throws IOException {
+        if (nonBlockingWrite && writeThread == null) {
+            writeThread = new WriteThread(SelectorFactory.get());
+            writeThread.setReleaseSelector(true);
+            writeThread.start();
+        }
+        this.nonBlockingWrite = nonBlockingWrite;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    /**
+     * Backpressure per session (non-blocking write mode only).<br>
+     * A session stops reading while its outbound queue holds more than highWaterMark bytes,
+     * so a slow consumer can't make its producer queue without bound.<br>
+     * Affects sessions accepted afterwards.<br>
+     *
+     * @param highWaterMark stop reading above this (bytes, 0: disabled)
+     * @param lowWaterMark  resume reading at or below this (bytes)
+     */
+    public void setWaterMarks(final long highWaterMark, final long lowWaterMark) {
+        if (lowWaterMark > highWaterMark) {
+            throw new IllegalArgumentException("lowWaterMark must not be greater than highWaterMark");
+        }
+
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    public OutboundBudget getOutboundBudget() {
+        return outboundBudget;
+    }
+
+    /**
+     * Backpressure across all sessions (non-blocking write mode only).<br>
+     * Affects sessions accepted afterwards.<br>
+     *
+     * @param outboundBudget budget of outbound queues shared by all sessions (null: unlimited)
+     */
+    public void setOutboundBudget(final OutboundBudget outboundBudget) {
+        this.outboundBudget = outboundBudget;
+    }
+
+    public boolean isLazyReadBuffer() {
+        return lazyReadBuffer;
+    }
+
+    /**
+     * Attach read buffers only when channels become readable and return them to BufferPool
+     * once a complete message is consumed.<br>
+     * Affects sessions accepted afterwards.<br>
+     *
+     * @param lazyReadBuffer true: sessions hold read buffer only while there's something to read
+     */
+    public void setLazyReadBuffer(final boolean lazyReadBuffer) {
+        if (lazyReadBuffer && bufferPool == null) {
+            throw new IllegalStateException("lazy read buffer requires a BufferPool");
+        }
+        this.lazyReadBuffer = lazyReadBuffer;
+    }
+
     @Override
     protected void finalize() throws Throwable {
         readThreads.clear();
-        sessionMap.clear();
+        sessionRegistry.clear();
 
         super.finalize();
     }
@@ -209,23 +685,20 @@ public class Proactor implements Terminatable {
     private class ReadThread extends SelectThread {
         public ReadThread(Selector sel) {
             super(sel);
+            setName("ReadThread");
         }
 
         protected void process(final SelectionKey key) {
             try {
-                if (key != null && key.isReadable() && key.channel() instanceof SocketChannel) {
-                    SocketChannel channel = (SocketChannel) key.channel();
-                    if (Validator.isValid(channel)) {
-                        Session ses = sessionMap.get(channel.hashCode());
-                        if (ses == null) {
-                            LOGGER.error("a session can't be found in SessionMap. It shouldn't happen!");
-                        } else {
-                            if (ses.isValid()) {
-                                reactors.addJob(ses);
-                            } else {
-                                sessionMap.remove(channel.hashCode()).terminate();
-                            }
-                        }
+                if (key != null && key.isReadable() && key.attachment() instanceof Session) {
+                    Session ses = (Session) key.attachment();
+                    if (ses.isValid()) {
+                        // pause until Protocol resumes reading
+                        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                        dispatch(ses);
+                    } else {
+                        // recycled once its reactor (if any) is done with it
+                        ses.terminate();
                     }
                 }
             } catch (CancelledKeyException ignored) {
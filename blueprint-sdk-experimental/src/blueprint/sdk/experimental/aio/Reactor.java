@@ -13,58 +13,71 @@
 
 package blueprint.sdk.experimental.aio;
 
-import blueprint.sdk.core.concurrent.JobQueue;
-import blueprint.sdk.core.concurrent.Worker;
 import blueprint.sdk.experimental.aio.session.Session;
 import blueprint.sdk.logger.Logger;
-import blueprint.sdk.util.Validator;
 
 import java.nio.channels.ClosedChannelException;
 
 /**
- * Process each & every element from JobQueue, one at a time.
+ * Runs sessions, one at a time per session.<br>
+ * Proactor calls run(Session) on its work-stealing pool, its shards or an Executor.<br>
+ * It's no longer a thread, so subclasses can't change how sessions are run. Proactor rejects
+ * them (see its deprecated constructor).<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 26.
  */
 @SuppressWarnings("WeakerAccess")
-public class Reactor extends Worker<Object> {
+public class Reactor {
     private static final Logger LOGGER = Logger.getInstance();
 
-    private transient boolean running = false;
-
-    public Reactor(final JobQueue<Object> jobQueue, final Object deathMonitor) {
-        super(jobQueue, deathMonitor);
+    protected Reactor() {
     }
 
-    public boolean isValid() {
-        return running;
-    }
+    /**
+     * Processes a scheduled session (see Session.schedule()).<br>
+     * Shared by Proactor's reactors, shards and Executor mode. Never runs same session concurrently.<br>
+     *
+     * @param ses session to process
+     * @return true: events were posted while running, run again
+     */
+    public static boolean run(final Session ses) {
+        if (!ses.beginProcess()) {
+            return false;
+        }
 
-    public void terminate() {
-        running = false;
-    }
+        if (ses.isTerminated()) {
+            // terminated while scheduled. endProcess() closes it.
+            return ses.endProcess();
+        }
 
-    @SuppressWarnings("ConstantConditions")
-    @Override
-    protected void process(final Object clientObject) {
-        if (clientObject instanceof Session) {
-            Session ses = (Session) clientObject;
-            try {
-                ses.process();
-            } catch (ClosedChannelException ignored) {
-                if (Validator.isNotNull(ses)) {
-                    ses.terminate();
-                }
-            } catch (Exception e) {
-                if (Validator.isNotNull(ses)) {
-                    ses.terminate();
-                }
-                LOGGER.error(e);
-                LOGGER.trace(e);
+        if (ses.getReadBuffer() == null) {
+            // leased on the processing thread (shard's own BufferPool cache in shard mode)
+            ses.attachReadBuffer();
+        }
+        AioMetrics metrics = ses.getWrapper().getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
+        try {
+            if (ses.isAutoCork()) {
+                ses.cork();
+            }
+            ses.process();
+            if (ses.isAutoCork()) {
+                ses.uncork();
             }
-        } else {
-            LOGGER.error(this, "wrong object in job queue - " + clientObject);
+        } catch (ClosedChannelException ignored) {
+            ses.terminate();
+        } catch (Exception e) {
+            ses.terminate();
+            LOGGER.error(e);
+            LOGGER.trace(e);
+        } finally {
+            if (metrics != null) {
+                metrics.processed(System.nanoTime() - start);
+            }
+            ses.releaseIdleReadBuffer();
         }
+
+        return ses.endProcess();
     }
 }
@@ -0,0 +1,62 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import blueprint.sdk.experimental.aio.session.Session;
+import blueprint.sdk.experimental.aio.session.SessionRegistry;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Adapts Session's constructor to SessionFactory.<br>
+ * Session class needs a constructor of (SocketChannel, SessionRegistry, Integer, SelectorLoadBalancer),
+ * or (SocketChannel, SessionRegistry, BufferPool, SelectorLoadBalancer) for pooled read buffers.<br>
+ * Prefer a plain SessionFactory on hot accept paths.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class ReflectiveSessionFactory implements SessionFactory {
+    private final Constructor<? extends Session> sessionCons;
+    private final boolean pooled;
+
+    /**
+     * Constructor
+     *
+     * @param sessionClass an implementation Class of Session
+     * @param pooled       true: use constructor with BufferPool
+     * @throws NoSuchMethodException Can't get constructor for session
+     * @throws SecurityException     Can't get constructor for session
+     */
+    public ReflectiveSessionFactory(final Class<? extends Session> sessionClass, final boolean pooled)
+            throws SecurityException, NoSuchMethodException {
+        this.pooled = pooled;
+        sessionCons = sessionClass.getConstructor(SocketChannel.class, SessionRegistry.class,
+                pooled ? BufferPool.class : Integer.class, SelectorLoadBalancer.class);
+    }
+
+    public Session newSession(final SocketChannel channel, final Proactor proactor) throws IOException {
+        try {
+            return sessionCons.newInstance(channel, proactor.getSessionRegistry(),
+                    pooled ? proactor.getBufferPool() : proactor.getBufferSize(), proactor.getReadSelectorLB());
+        } catch (IllegalArgumentException | InstantiationException | IllegalAccessException e) {
+            throw new IOException("can't create a session", e);
+        } catch (InvocationTargetException e) {
+            throw new IOException("can't create a session", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns channels to SelectThreads in turn
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class RoundRobinStrategy implements SelectorAssignmentStrategy {
+    private transient final AtomicInteger next = new AtomicInteger(0);
+
+    public SelectThread select(final SocketChannelWrapper wrapper, final SelectThread[] threads) {
+        int index = (next.getAndIncrement() & Integer.MAX_VALUE) % threads.length;
+        return threads[index];
+    }
+}
@@ -19,10 +19,29 @@ import blueprint.sdk.util.Terminatable;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Polls a Selector & invokes a task
+ * Polls a Selector & invokes a task<br>
+ * <br>
+ * Two modes are supported:<br>
+ * event driven (default) - blocks in select(timeout) and is woken up by new tasks.<br>
+ * polling - selectNow() followed by think time (legacy behavior).<br>
+ * <br>
+ * Every operation which touches the Selector (register, interestOps, cancel) should be
+ * submitted with register(SocketChannelWrapper, int) or execute(Runnable), so that it never
+ * races with select(). execute(Runnable, long) runs a task later on this thread.<br>
+ * Keys attached with a SelectHandler are handed to it instead of process(SelectionKey), so that
+ * other channels (e.g. client channels) can share this thread.<br>
+ * A Selector from SelectorFactory can be handed back by this thread itself once it stops selecting
+ * (see setReleaseSelector).<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 26.
@@ -33,18 +52,66 @@ public abstract class SelectThread extends Thread implements Terminatable {
     private transient final Selector selector;
 
     /**
-     * think time to prevent excessive CPU consumption (msec)
+     * think time to prevent excessive CPU consumption (msec, polling mode only)
      */
     private int thinkTime = 10;
-    private boolean running = false;
+    /**
+     * max time to block in select (msec, event driven mode only)
+     */
+    private long selectTimeout = 1000;
+    /**
+     * true: event driven mode, false: polling mode
+     */
+    private final boolean eventDriven;
+
+    /**
+     * tasks to run on this thread before next select
+     */
+    private transient final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /**
+     * tasks to run after their deadlines, ordered by deadline (used only by this thread)
+     */
+    private transient final PriorityQueue<DelayedTask> delayedTasks = new PriorityQueue<>();
+    /**
+     * channels with pending interest changes (see SocketChannelWrapper.addPendingOps)
+     */
+    private transient final Queue<SocketChannelWrapper> interests = new ConcurrentLinkedQueue<>();
+    /**
+     * true: selector.wakeup() is already called for current select
+     */
+    private transient final AtomicBoolean wakenUp = new AtomicBoolean(false);
+    /**
+     * number of channels pinned to this thread
+     */
+    private transient final AtomicInteger channelCount = new AtomicInteger(0);
+
+    /**
+     * counts selects (null: not counted)
+     */
+    private transient AioMetrics metrics = null;
+
+    /**
+     * true: returns selector to SelectorFactory when run() ends
+     */
+    private transient volatile boolean releaseSelector = false;
+
+    private volatile boolean running = false;
     private transient boolean terminated = false;
 
+    /**
+     * Constructor for event driven mode
+     *
+     * @param selector selector to use
+     */
     public SelectThread(final Selector selector) {
-        this(selector, 10);
+        super();
+        this.selector = selector;
+        this.eventDriven = true;
+        setName("SelectThread");
     }
 
     /**
-     * Constructor
+     * Constructor for polling mode
      *
      * @param selector selector to use
      * @param thinkTime think time to prevent excessive CPU consumption (msec)
@@ -54,6 +121,7 @@ public abstract class SelectThread extends Thread implements Terminatable {
         super();
         this.selector = selector;
         this.thinkTime = thinkTime;
+        this.eventDriven = false;
         setName("SelectThread");
     }
 
@@ -64,8 +132,12 @@ public abstract class SelectThread extends Thread implements Terminatable {
 
         boolean selected;
         while (running) {
+            runTasks();
+            runDelayedTasks();
+            applyInterests();
+
             try {
-                selected = selector.selectNow() > 0;
+                selected = select() > 0;
             } catch (CancelledKeyException ignored) {
                 selected = false;
             } catch (Exception e) {
@@ -73,14 +145,23 @@ public abstract class SelectThread extends Thread implements Terminatable {
                 LOGGER.trace(e);
                 selected = false;
             }
+            if (metrics != null) {
+                metrics.selected(selected);
+            }
 
             if (selected) {
                 Set<SelectionKey> keysSet = selector.selectedKeys();
-                Object[] keys = keysSet.toArray();
-                keysSet.clear();
-                for (Object key : keys) {
+                Iterator<SelectionKey> iter = keysSet.iterator();
+                while (iter.hasNext()) {
+                    SelectionKey key = iter.next();
+                    iter.remove();
                     try {
-                        process((SelectionKey) key);
+                        Object attachment = key.attachment();
+                        if (attachment instanceof SelectHandler) {
+                            ((SelectHandler) attachment).handle(key);
+                        } else {
+                            process(key);
+                        }
                     } catch (CancelledKeyException ignored) {
                     } catch (Exception e) {
                         LOGGER.trace(e);
@@ -88,18 +169,182 @@ public abstract class SelectThread extends Thread implements Terminatable {
                 }
             }
 
-            // think time to prevent excessive CPU consumption
-            try {
-                Thread.sleep(thinkTime);
-            } catch (InterruptedException ignored) {
+            if (!eventDriven) {
+                // think time to prevent excessive CPU consumption
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException ignored) {
+                }
             }
         }
 
+        // nobody will run them from now on
+        tasks.clear();
+        delayedTasks.clear();
+        interests.clear();
+
+        // nobody selects from now on, so it's safe to hand it to somebody else
+        if (releaseSelector) {
+            SelectorFactory.release(selector);
+        }
+
         terminated = true;
 
         LOGGER.debug(this, "select thread stopped");
     }
 
+    private int select() throws Exception {
+        int result;
+
+        if (eventDriven) {
+            wakenUp.set(false);
+            long timeout = nextTimeout();
+            if (timeout > 0 && tasks.isEmpty() && interests.isEmpty()) {
+                result = selector.select(timeout);
+            } else {
+                // don't block while there are pending tasks
+                result = selector.selectNow();
+            }
+        } else {
+            result = selector.selectNow();
+        }
+
+        return result;
+    }
+
+    /**
+     * @return msec to block in select (0: a delayed task is due)
+     */
+    private long nextTimeout() {
+        DelayedTask head = delayedTasks.peek();
+        if (head == null) {
+            return selectTimeout;
+        }
+
+        long remaining = head.deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return 0;
+        }
+        // round up, or it selects again just before the deadline
+        return Math.min(selectTimeout, TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            runTask(task);
+        }
+    }
+
+    private void runDelayedTasks() {
+        long now = System.nanoTime();
+        DelayedTask head;
+        while ((head = delayedTasks.peek()) != null && head.deadline - now <= 0) {
+            delayedTasks.poll();
+            runTask(head.task);
+        }
+    }
+
+    private void runTask(final Runnable task) {
+        try {
+            task.run();
+        } catch (CancelledKeyException ignored) {
+        } catch (Exception e) {
+            LOGGER.error(this, "task failed");
+            LOGGER.trace(e);
+        }
+    }
+
+    private void applyInterests() {
+        SocketChannelWrapper wrapper;
+        while ((wrapper = interests.poll()) != null) {
+            int ops = wrapper.takePendingOps();
+            if (ops != 0) {
+                try {
+                    wrapper.applyPendingOps(selector, ops);
+                } catch (CancelledKeyException ignored) {
+                } catch (Exception e) {
+                    LOGGER.error(this, "register failed");
+                    LOGGER.trace(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs given task on this thread before next select.<br>
+     * Runs immediately if current thread is this thread.<br>
+     *
+     * @param task task to run
+     */
+    public void execute(final Runnable task) {
+        if (isInSelectThread()) {
+            task.run();
+        } else {
+            tasks.offer(task);
+            wakeup();
+        }
+    }
+
+    /**
+     * Runs given task on this thread after given delay (checked before each select)
+     *
+     * @param task  task to run
+     * @param delay delay in msec
+     */
+    public void execute(final Runnable task, final long delay) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        execute(() -> delayedTasks.offer(new DelayedTask(task, deadline)));
+    }
+
+    /**
+     * Registers a channel to this thread's selector (or sets interested ops if already registered)
+     * without racing select().<br>
+     * Requests for same channel are merged until this thread applies them, so re-arming
+     * OP_READ costs neither a lock nor an allocation.<br>
+     *
+     * @param wrapper channel wrapper to register
+     * @param ops     interested ops
+     */
+    public void register(final SocketChannelWrapper wrapper, final int ops) {
+        interestOps(wrapper, ops, 0);
+    }
+
+    /**
+     * Clears interested ops without cancelling the key
+     *
+     * @param wrapper channel wrapper
+     * @param ops     ops to clear
+     */
+    public void suspend(final SocketChannelWrapper wrapper, final int ops) {
+        interestOps(wrapper, 0, ops);
+    }
+
+    private void interestOps(final SocketChannelWrapper wrapper, final int setOps, final int clearOps) {
+        if (wrapper.addPendingOps(setOps, clearOps) == 0) {
+            interests.offer(wrapper);
+            if (!isInSelectThread()) {
+                wakeup();
+            }
+        }
+    }
+
+    /**
+     * wakes up blocked select (only once per select)
+     */
+    public void wakeup() {
+        if (eventDriven && wakenUp.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * @return true: current thread is this select thread
+     */
+    public boolean isInSelectThread() {
+        return Thread.currentThread() == this;
+    }
+
     /**
      * Handle selected key
      *
@@ -107,10 +352,67 @@ public abstract class SelectThread extends Thread implements Terminatable {
      */
     protected abstract void process(SelectionKey key);
 
+    /**
+     * @return number of channels pinned to this thread
+     */
+    public int getChannelCount() {
+        return channelCount.get();
+    }
+
+    void increaseChannelCount() {
+        channelCount.incrementAndGet();
+    }
+
+    void decreaseChannelCount() {
+        channelCount.decrementAndGet();
+    }
+
     public Selector getSelector() {
         return selector;
     }
 
+    public AioMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set before start()
+     *
+     * @param metrics counts selects (null: not counted)
+     */
+    public void setMetrics(final AioMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public boolean isReleaseSelector() {
+        return releaseSelector;
+    }
+
+    /**
+     * Set before start()
+     *
+     * @param releaseSelector true: returns selector (from SelectorFactory.get()) to SelectorFactory
+     *                        when this thread stops selecting
+     */
+    public void setReleaseSelector(final boolean releaseSelector) {
+        this.releaseSelector = releaseSelector;
+    }
+
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    public long getSelectTimeout() {
+        return selectTimeout;
+    }
+
+    /**
+     * @param selectTimeout max time to block in select (msec, event driven mode only)
+     */
+    public void setSelectTimeout(final long selectTimeout) {
+        this.selectTimeout = selectTimeout;
+    }
+
     public boolean isValid() {
         return running;
     }
@@ -121,5 +423,38 @@ public abstract class SelectThread extends Thread implements Terminatable {
 
     public void terminate() {
         running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Handles selected keys it's attached to, on the SelectThread
+     *
+     * @author Sangmin Lee
+     * @since 2026. 10. 17.
+     */
+    public interface SelectHandler {
+        /**
+         * @param key selected key
+         * @throws Exception handling failed
+         */
+        void handle(SelectionKey key) throws Exception;
+    }
+
+    private static class DelayedTask implements Comparable<DelayedTask> {
+        private final Runnable task;
+        /**
+         * System.nanoTime() to run at
+         */
+        private final long deadline;
+
+        private DelayedTask(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int compareTo(final DelayedTask o) {
+            return Long.signum(deadline - o.deadline);
+        }
     }
 }
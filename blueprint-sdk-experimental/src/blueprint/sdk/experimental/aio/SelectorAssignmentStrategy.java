@@ -0,0 +1,34 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+/**
+ * Decides which SelectThread owns a channel.<br>
+ * Called once per channel, when SelectorLoadBalancer sees the channel for the first time.<br>
+ * Implementations must be thread safe.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ * @see RoundRobinStrategy
+ * @see LeastConnectionsStrategy
+ * @see HashAffinityStrategy
+ */
+public interface SelectorAssignmentStrategy {
+    /**
+     * @param wrapper channel wrapper to assign
+     * @param threads candidates (never empty, never modify)
+     * @return one of given threads
+     */
+    SelectThread select(SocketChannelWrapper wrapper, SelectThread[] threads);
+}
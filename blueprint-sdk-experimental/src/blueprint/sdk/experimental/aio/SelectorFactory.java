@@ -13,56 +13,426 @@
 
 package blueprint.sdk.experimental.aio;
 
+import blueprint.sdk.logger.Logger;
 import blueprint.sdk.util.Validator;
 
 import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
-import java.util.LinkedList;
-import java.util.NoSuchElementException;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
  * Selector Factory to recycle Selectors<br>
  * Opening a Selector cost a lot. So recycle as many as possible.<br>
+ * <br>
+ * Each Selector holds file descriptors (e.g. an epoll fd & a pipe), so number of open Selectors is
+ * capped by maxOpen. get() waits up to acquireTimeout for a release beyond that.<br>
+ * Every thread caches one released Selector, backed by a shared pool of up to maxIdle.<br>
+ * <br>
+ * Released Selectors are reused in epochs. release() only cancels remaining keys, and cancelled
+ * keys are deregistered by a selectNow() when the Selector is taken again, so that a channel can
+ * register itself again.<br>
+ * A Selector which is garbage collected without release() is reported as a leak.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 12. 5.
  */
 @SuppressWarnings("WeakerAccess")
 public class SelectorFactory {
-    private final transient static LinkedList<Selector> pool = new LinkedList<>();
+    private static final Logger LOGGER = Logger.getInstance();
+
+    /**
+     * max number of open Selectors (in use, cached & pooled)
+     */
+    private static volatile int maxOpen = 1024;
+    /**
+     * max number of Selectors in shared pool
+     */
+    private static volatile int maxIdle = 64;
+    /**
+     * max time to wait for a release when maxOpen is reached (msec)
+     */
+    private static volatile long acquireTimeout = 10 * 1000;
+
+    private final transient static Deque<Selector> pool = new ConcurrentLinkedDeque<>();
+    private final transient static ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(ThreadCache::new);
+    /**
+     * every thread's cache, to reclaim Selectors cached by other (or dead) threads
+     */
+    private final transient static Set<ThreadCache> caches = ConcurrentHashMap.newKeySet();
+    /**
+     * caches of garbage collected threads
+     */
+    private final transient static ReferenceQueue<Thread> deadThreads = new ReferenceQueue<>();
+
+    /**
+     * Selectors in use (weak keys, so that leaked ones can be collected)
+     */
+    private final transient static Map<Selector, Lease> leases = Collections.synchronizedMap(new WeakHashMap<>());
+    private final transient static ReferenceQueue<Selector> leaked = new ReferenceQueue<>();
+    /**
+     * epoch of next lease
+     */
+    private final transient static AtomicLong epoch = new AtomicLong(0);
+
+    private final transient static AtomicInteger openCount = new AtomicInteger(0);
+    private final transient static AtomicInteger idleCount = new AtomicInteger(0);
+    /**
+     * to wait for a release
+     */
+    private final transient static Object releaseLock = new Object();
+
+    private final transient static LongAdder created = new LongAdder();
+    private final transient static LongAdder reused = new LongAdder();
+    private final transient static LongAdder waits = new LongAdder();
+    private final transient static LongAdder rejects = new LongAdder();
+    private final transient static LongAdder leaks = new LongAdder();
 
     /**
      * @return available selector
-     * @throws IOException thrown by Selector
+     * @throws IOException thrown by Selector or too many Selectors are open
      */
     public static Selector get() throws IOException {
-        Selector result;
-        try {
-            result = pool.removeFirst();
-        } catch (NoSuchElementException e) {
-            result = Selector.open();
+        expungeLeaks();
+
+        Selector result = threadCache.get().selector.getAndSet(null);
+        if (result == null) {
+            result = poll();
+        }
+
+        if (result == null) {
+            result = open();
+        } else {
+            reused.increment();
+            flush(result);
         }
 
+        leases.put(result, new Lease(result, epoch.getAndIncrement()));
         return result;
     }
 
+    /**
+     * Returns a Selector to pool.<br>
+     * <b>Don't use it afterwards.</b> Selectors of terminated SelectThreads must be released after
+     * their threads stop selecting.<br>
+     *
+     * @param selector Selector from get()
+     */
     public static void release(final Selector selector) {
-        if (Validator.isValid(selector)) {
-            Set<SelectionKey> keys = selector.keys();
+        if (selector == null) {
+            return;
+        }
+
+        Lease lease = leases.remove(selector);
+        if (lease == null) {
+            LOGGER.error("releasing a Selector which is not in use (released twice?) - " + selector);
+            return;
+        }
+        // released ones are not leaks
+        lease.clear();
 
-            for (SelectionKey key : keys) {
-                key.cancel();
-                keys.remove(key);
+        if (!Validator.isValid(selector)) {
+            // closed by user
+            closed();
+            return;
+        }
+
+        // keys are deregistered on next selection operation (see flush())
+        for (SelectionKey key : selector.keys()) {
+            key.cancel();
+        }
+
+        ThreadCache cache = threadCache.get();
+        if (!cache.selector.compareAndSet(null, selector)) {
+            if (idleCount.incrementAndGet() <= maxIdle) {
+                pool.addFirst(selector);
+            } else {
+                idleCount.decrementAndGet();
+                close(selector);
+                return;
             }
+        }
 
-            pool.addFirst(selector);
+        synchronized (releaseLock) {
+            releaseLock.notify();
         }
     }
 
+    /**
+     * @return a pooled Selector or null
+     */
+    private static Selector poll() {
+        Selector result = pool.pollFirst();
+        if (result != null) {
+            idleCount.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * opens a new Selector, or waits for a release if maxOpen is reached
+     */
+    private static Selector open() throws IOException {
+        long deadline = System.currentTimeMillis() + acquireTimeout;
+        boolean waited = false;
+
+        while (true) {
+            if (openCount.incrementAndGet() <= maxOpen) {
+                try {
+                    Selector result = Selector.open();
+                    created.increment();
+                    return result;
+                } catch (IOException e) {
+                    closed();
+                    throw e;
+                }
+            }
+            openCount.decrementAndGet();
+
+            Selector result = steal();
+            if (result != null) {
+                reused.increment();
+                flush(result);
+                return result;
+            }
+
+            if (!waited) {
+                waited = true;
+                waits.increment();
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                rejects.increment();
+                throw new IOException("too many Selectors are open - " + openCount.get());
+            }
+
+            synchronized (releaseLock) {
+                try {
+                    releaseLock.wait(Math.min(remaining, 100));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for a Selector", e);
+                }
+            }
+            expungeLeaks();
+        }
+    }
+
+    /**
+     * @return a Selector from shared pool or other threads' caches (null: none)
+     */
+    private static Selector steal() {
+        reclaimDeadCaches();
+
+        Selector result = poll();
+        if (result == null) {
+            for (ThreadCache cache : caches) {
+                result = cache.selector.getAndSet(null);
+                if (result != null) {
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * moves Selectors cached by garbage collected threads to shared pool<br>
+     * Costs nothing unless a thread is collected. Until then, steal() can still take its Selector.<br>
+     */
+    private static void reclaimDeadCaches() {
+        ThreadCache cache;
+        while ((cache = (ThreadCache) deadThreads.poll()) != null) {
+            caches.remove(cache);
+
+            Selector selector = cache.selector.getAndSet(null);
+            if (selector != null) {
+                if (idleCount.incrementAndGet() <= maxIdle) {
+                    pool.addFirst(selector);
+                } else {
+                    idleCount.decrementAndGet();
+                    close(selector);
+                }
+            }
+        }
+    }
+
+    /**
+     * deregisters keys cancelled by release()
+     */
+    private static void flush(final Selector selector) throws IOException {
+        if (!selector.keys().isEmpty()) {
+            try {
+                selector.selectNow();
+            } catch (IOException e) {
+                close(selector);
+                throw e;
+            }
+        }
+    }
+
+    private static void close(final Selector selector) {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.error("can't close a Selector - " + e);
+        }
+        closed();
+    }
+
+    private static void closed() {
+        openCount.decrementAndGet();
+
+        synchronized (releaseLock) {
+            releaseLock.notify();
+        }
+    }
+
+    /**
+     * reports Selectors garbage collected without release()
+     */
+    private static void expungeLeaks() {
+        Lease lease;
+        while ((lease = (Lease) leaked.poll()) != null) {
+            leaks.increment();
+            LOGGER.error("a Selector was not released - epoch " + lease.epoch + ", taken by " + lease.thread);
+            // it's unreachable, so only the slot can be reclaimed (not the descriptors)
+            closed();
+        }
+    }
+
+    /**
+     * @return number of Selectors in shared pool (excluding thread caches)
+     */
     public static int size() {
-        return pool.size();
+        return idleCount.get();
+    }
+
+    /**
+     * @return number of open Selectors (in use, cached & pooled)
+     */
+    public static int getOpenCount() {
+        return openCount.get();
+    }
+
+    /**
+     * @return number of Selectors in use
+     */
+    public static int getInUseCount() {
+        return leases.size();
+    }
+
+    /**
+     * @return number of Selectors opened so far
+     */
+    public static long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * @return number of get() calls served by a recycled Selector
+     */
+    public static long getReusedCount() {
+        return reused.sum();
+    }
+
+    /**
+     * @return number of get() calls which had to wait because of maxOpen
+     */
+    public static long getWaitCount() {
+        return waits.sum();
+    }
+
+    /**
+     * @return number of get() calls failed because of maxOpen
+     */
+    public static long getRejectCount() {
+        return rejects.sum();
+    }
+
+    /**
+     * @return number of Selectors garbage collected without release()
+     */
+    public static long getLeakCount() {
+        return leaks.sum();
+    }
+
+    public static int getMaxOpen() {
+        return maxOpen;
+    }
+
+    /**
+     * @param maxOpen max number of open Selectors (in use, cached & pooled)
+     */
+    public static void setMaxOpen(final int maxOpen) {
+        if (maxOpen <= 0) {
+            throw new IllegalArgumentException("maxOpen must be greater than 0");
+        }
+        SelectorFactory.maxOpen = maxOpen;
+    }
+
+    public static int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @param maxIdle max number of Selectors in shared pool
+     */
+    public static void setMaxIdle(final int maxIdle) {
+        SelectorFactory.maxIdle = maxIdle;
+    }
+
+    public static long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * @param acquireTimeout max time to wait for a release when maxOpen is reached (msec)
+     */
+    public static void setAcquireTimeout(final long acquireTimeout) {
+        SelectorFactory.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * a Selector cached by a thread (enqueued to deadThreads once the thread is collected)
+     */
+    private static class ThreadCache extends WeakReference<Thread> {
+        final AtomicReference<Selector> selector = new AtomicReference<>();
+
+        ThreadCache() {
+            super(Thread.currentThread(), deadThreads);
+
+            // new threads come & go (e.g. ForkJoinPool), so clean up after dead ones here
+            reclaimDeadCaches();
+            caches.add(this);
+        }
+    }
+
+    /**
+     * a Selector in use
+     */
+    private static class Lease extends WeakReference<Selector> {
+        final long epoch;
+        final String thread = Thread.currentThread().getName();
+
+        Lease(final Selector selector, final long epoch) {
+            super(selector, leaked);
+            this.epoch = epoch;
+        }
     }
 }
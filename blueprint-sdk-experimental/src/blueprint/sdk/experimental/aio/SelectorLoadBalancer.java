@@ -15,52 +15,102 @@ package blueprint.sdk.experimental.aio;
 
 import blueprint.sdk.util.Terminatable;
 
-import java.nio.channels.Selector;
 import java.util.List;
 
 /**
- * Load Balancer for Selector list
+ * Load Balancer for SelectThread list<br>
+ * Registrations are handed over to each SelectThread's own queue, so they never race with
+ * select() and never take a lock.<br>
+ * A channel is pinned to the SelectThread chosen by SelectorAssignmentStrategy. Afterwards,
+ * reading is paused and resumed by toggling interestOps of the same SelectionKey.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 12. 5.
  */
 public class SelectorLoadBalancer implements Terminatable {
-    private transient final List<Selector> selectors;
+    private transient final SelectThread[] threads;
+    private transient final SelectorAssignmentStrategy strategy;
 
-    private transient boolean terminated = false;
+    private transient volatile boolean terminated = false;
 
-    public SelectorLoadBalancer(final List<Selector> selectors) {
-        this.selectors = selectors;
+    public SelectorLoadBalancer(final List<SelectThread> threads) {
+        this(threads, new RoundRobinStrategy());
     }
 
     /**
+     * Constructor
+     *
+     * @param threads  SelectThreads to use
+     * @param strategy assigns a SelectThread to each channel
+     */
+    public SelectorLoadBalancer(final List<SelectThread> threads, final SelectorAssignmentStrategy strategy) {
+        this.threads = threads.toArray(new SelectThread[threads.size()]);
+        this.strategy = strategy;
+    }
+
+    /**
+     * register (or resume) given ops
+     *
      * @param wrapper channel wrapper to register
      * @param ops     interested ops
      */
     @SuppressWarnings("SameParameterValue")
     public void register(final SocketChannelWrapper wrapper, final int ops) {
-        synchronized (this) {
-            if (selectors.isEmpty()) {
-                Selector sel = selectors.remove(0);
-                wrapper.register(sel, ops);
-                selectors.add(sel);
-            }
+        SelectThread thread = bind(wrapper);
+        if (thread != null) {
+            thread.register(wrapper, ops);
+        }
+    }
+
+    /**
+     * pins given channel to a SelectThread, if not pinned yet
+     *
+     * @param wrapper channel wrapper to pin
+     * @return pinned SelectThread (null: terminated)
+     */
+    public SelectThread bind(final SocketChannelWrapper wrapper) {
+        if (terminated || threads.length == 0) {
+            return null;
         }
+
+        SelectThread thread = wrapper.getReadThread();
+        if (thread == null) {
+            thread = wrapper.bindReadThread(strategy.select(wrapper, threads));
+        }
+        return thread;
+    }
+
+    /**
+     * pause given ops (key stays registered)
+     *
+     * @param wrapper channel wrapper to pause
+     * @param ops     ops to pause
+     */
+    @SuppressWarnings("SameParameterValue")
+    public void suspend(final SocketChannelWrapper wrapper, final int ops) {
+        SelectThread thread = wrapper.getReadThread();
+        if (!terminated && thread != null) {
+            thread.suspend(wrapper, ops);
+        }
+    }
+
+    public SelectorAssignmentStrategy getStrategy() {
+        return strategy;
     }
 
     public boolean isValid() {
-        return (!selectors.isEmpty());
+        return !terminated && threads.length > 0;
     }
 
     public boolean isTerminated() {
         return terminated;
     }
 
+    /**
+     * Stops assigning.<br>
+     * Threads are terminated by their owner & release their own selectors (see SelectThread.setReleaseSelector).<br>
+     */
     public void terminate() {
-        while (!selectors.isEmpty()) {
-            SelectorFactory.release(selectors.remove(0));
-        }
-
         terminated = true;
     }
 }
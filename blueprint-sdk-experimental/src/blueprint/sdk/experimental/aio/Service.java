@@ -13,7 +13,6 @@
 
 package blueprint.sdk.experimental.aio;
 
-import blueprint.sdk.core.concurrent.TimeoutHandler;
 import blueprint.sdk.logger.Logger;
 import blueprint.sdk.util.Terminatable;
 import blueprint.sdk.util.Validator;
@@ -24,19 +23,31 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A Service<br>
  * Accept & processes own Clients<br>
  * <br>
  * example:<br>
- * Proactor p1 = new Proactor(Reactor.class, 3, 1, SimpleHttpSession.class,
+ * Proactor p1 = new Proactor(3, 1, SimpleHttpSession.class,
  * 1024);<br>
  * Service s1 = new Service("service 1", p1);<br>
  * s1.getIpFilter().allow("127.0.0.1");<br>
  * s1.bind("localhost", 1112, true, 5);<br>
+ * <br>
+ * Non-blocking accept (2 acceptor threads, SO_REUSEPORT if supported):<br>
+ * s1.bind("localhost", 1112, true, 5, 2, true);<br>
+ * <br>
+ * Once bound, Proactor's metrics are registered to JMX under the service name (first one bound, if
+ * more than one Service shares a Proactor) until terminated.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 25.
@@ -45,12 +56,37 @@ import java.nio.channels.SocketChannel;
 public class Service implements Runnable, Terminatable {
     private static final Logger LOGGER = Logger.getInstance();
 
+    /**
+     * msec to stop accepting after accept() fails (e.g. too many open files)
+     */
+    private static final long ACCEPT_BACKOFF = 100;
+
     private final String serviceName;
     private transient final Proactor proactor;
     private final IpFilter ipFilter;
     private SocketAddress address;
     private transient ServerSocketChannel serverChannel;
-    private transient TimeoutHandler timeoutHandler = null;
+    /**
+     * all listening channels (more than one only with SO_REUSEPORT)
+     */
+    private transient final List<ServerSocketChannel> serverChannels = new ArrayList<>();
+    /**
+     * acceptor threads (empty: blocking accept mode)
+     */
+    private transient final List<AcceptThread> acceptThreads = new ArrayList<>();
+    /**
+     * max number of connections to accept per OP_ACCEPT event
+     */
+    private int acceptBurst = 256;
+    /**
+     * accept backlog of listening channels (0 or less: JDK default)
+     */
+    private int backlog = 1024;
+    private transient IdleTimeoutWheel idleTimeoutWheel = null;
+    /**
+     * true: this service holds a registration of Proactor's metrics
+     */
+    private transient boolean metricsRegistered = false;
     private boolean runFlag = true;
     private boolean terminated = false;
 
@@ -70,17 +106,41 @@ public class Service implements Runnable, Terminatable {
      * @param bindAddress address to bind
      * @param bindPort port to bind
      * @param reuseAddress true: reuse address
-     * @param clientTimeout connection timeout
+     * @param clientTimeout connection timeout in seconds
      * @throws IOException
      */
     @SuppressWarnings("SameParameterValue")
     public void bind(final String bindAddress, final int bindPort, final boolean reuseAddress, final int clientTimeout)
             throws IOException {
+        bind(bindAddress, bindPort, reuseAddress, clientTimeout, 0, false);
+    }
+
+    /**
+     * bind ServerSocketChannel & start service<br>
+     * <br>
+     * acceptorCount &gt; 0: non-blocking accept mode.<br>
+     * Each acceptor thread waits for OP_ACCEPT and drains the backlog in bursts.<br>
+     * With reusePort, each acceptor gets its own listening channel bound with SO_REUSEPORT,
+     * so the kernel spreads connections over acceptors. Otherwise they share one channel.<br>
+     * Idle sessions are terminated by a single IdleTimeoutWheel, created by first bind with
+     * clientTimeout &gt; 0. Later binds use it as is.<br>
+     *
+     * @param bindAddress   address to bind
+     * @param bindPort      port to bind
+     * @param reuseAddress  true: reuse address
+     * @param clientTimeout connection timeout in seconds
+     * @param acceptorCount number of acceptor threads (0: blocking accept with a single thread)
+     * @param reusePort     true: use SO_REUSEPORT if supported
+     * @throws IOException
+     */
+    public void bind(final String bindAddress, final int bindPort, final boolean reuseAddress, final int clientTimeout,
+                     final int acceptorCount, final boolean reusePort) throws IOException {
         LOGGER.info(this, "binding service [" + serviceName + "] to [" + address + "]");
 
-        if (clientTimeout > 0) {
-            timeoutHandler = TimeoutHandler.newTimeoutHandler(clientTimeout, 1);
-            proactor.setTimeoutHandler(timeoutHandler);
+        if (clientTimeout > 0 && idleTimeoutWheel == null) {
+            idleTimeoutWheel = new IdleTimeoutWheel(clientTimeout);
+            idleTimeoutWheel.start();
+            proactor.setIdleTimeoutWheel(idleTimeoutWheel);
         }
 
         if (Validator.isNotEmpty(bindAddress) || "*".equals(bindAddress)) {
@@ -89,19 +149,107 @@ public class Service implements Runnable, Terminatable {
             address = new InetSocketAddress(InetAddress.getByName(bindAddress), bindPort);
         }
 
-        // blocking mode
-        serverChannel = ServerSocketChannel.open();
-        serverChannel.configureBlocking(true);
-        serverChannel.socket().setReuseAddress(reuseAddress);
-        serverChannel.socket().bind(address);
-
-        Thread thr = new Thread(this);
-        thr.setDaemon(true);
-        thr.start();
+        if (acceptorCount <= 0) {
+            // blocking mode
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(true);
+            serverChannel.socket().setReuseAddress(reuseAddress);
+            serverChannel.socket().bind(address, backlog);
+            serverChannels.add(serverChannel);
+
+            Thread thr = new Thread(this);
+            thr.setDaemon(true);
+            thr.start();
+        } else {
+            bindNonBlocking(reuseAddress, acceptorCount, reusePort);
+        }
+        if (!metricsRegistered) {
+            metricsRegistered = proactor.getMetrics().register(serviceName);
+        }
 
         LOGGER.info(this, "service [" + serviceName + "] is now bound to [" + address + "] and started");
     }
 
+    private void bindNonBlocking(final boolean reuseAddress, final int acceptorCount, final boolean reusePort)
+            throws IOException {
+        SocketOption<Boolean> reusePortOption = reusePort ? getReusePortOption() : null;
+        int channelCount = reusePortOption == null ? 1 : acceptorCount;
+
+        for (int i = 0; i < channelCount; i++) {
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.configureBlocking(false);
+            channel.socket().setReuseAddress(reuseAddress);
+            if (reusePortOption != null) {
+                channel.setOption(reusePortOption, true);
+            }
+            channel.socket().bind(address, backlog);
+            serverChannels.add(channel);
+        }
+        serverChannel = serverChannels.get(0);
+
+        for (int i = 0; i < acceptorCount; i++) {
+            AcceptThread thread = new AcceptThread(SelectorFactory.get());
+            thread.setName("AcceptThread-" + serviceName + "-" + i);
+            thread.setDaemon(true);
+            thread.setMetrics(proactor.getMetrics());
+            thread.setReleaseSelector(true);
+
+            // no one selects it yet
+            serverChannels.get(i % channelCount).register(thread.getSelector(), SelectionKey.OP_ACCEPT);
+
+            thread.start();
+            acceptThreads.add(thread);
+        }
+    }
+
+    /**
+     * @return SO_REUSEPORT (null: not supported by this JVM or OS)
+     */
+    @SuppressWarnings("unchecked")
+    private SocketOption<Boolean> getReusePortOption() {
+        SocketOption<Boolean> result = null;
+        try {
+            // Java 9+
+            SocketOption<Boolean> option = (SocketOption<Boolean>) StandardSocketOptions.class
+                    .getField("SO_REUSEPORT").get(null);
+
+            try (ServerSocketChannel probe = ServerSocketChannel.open()) {
+                if (probe.supportedOptions().contains(option)) {
+                    result = option;
+                }
+            }
+        } catch (Exception ignored) {
+        }
+
+        if (result == null) {
+            LOGGER.info(this, "SO_REUSEPORT is not supported. acceptors will share a channel.");
+        }
+
+        return result;
+    }
+
+    /**
+     * @param channel accepted channel
+     * @return true: accepted, false: rejected by IpFilter
+     */
+    private boolean filterAndAccept(final SocketChannel channel) {
+        boolean result = false;
+
+        Socket sock = channel.socket();
+        if (ipFilter.isAllowed(sock.getInetAddress().getHostAddress())) {
+            accept(channel);
+            result = true;
+        } else {
+            proactor.getMetrics().rejected();
+            try {
+                channel.close();
+            } catch (Exception ignored) {
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Accept a client
      *
@@ -119,14 +267,7 @@ public class Service implements Runnable, Terminatable {
                 // blocking mode
                 Socket sock = serverChannel.socket().accept();
                 if (sock != null) {
-                    if (ipFilter.isAllowed(sock.getInetAddress().getHostAddress())) {
-                        accept(sock.getChannel());
-                    } else {
-                        try {
-                            sock.close();
-                        } catch (Exception ignored) {
-                        }
-                    }
+                    filterAndAccept(sock.getChannel());
                 }
             } catch (IOException e) {
                 LOGGER.error("can't accept client - " + e);
@@ -152,12 +293,33 @@ public class Service implements Runnable, Terminatable {
     public void terminate() {
         LOGGER.info(this, "terminating service [" + serviceName + "]");
 
-        try {
-            serverChannel.close();
-        } catch (IOException ignored) {
+        if (!acceptThreads.isEmpty()) {
+            for (AcceptThread thread : acceptThreads) {
+                // releases its selector once it stops selecting
+                thread.terminate();
+            }
+            acceptThreads.clear();
+
+            // there's no blocking accept thread to do this
+            terminated = true;
+        }
+
+        for (ServerSocketChannel channel : serverChannels) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        if (metricsRegistered) {
+            proactor.getMetrics().unregister();
+            metricsRegistered = false;
         }
         proactor.terminate();
-        timeoutHandler.terminate();
+        if (Validator.isNotNull(idleTimeoutWheel)) {
+            idleTimeoutWheel.terminate();
+            idleTimeoutWheel = null;
+        }
 
         runFlag = false;
 
@@ -179,4 +341,74 @@ public class Service implements Runnable, Terminatable {
     public IpFilter getIpFilter() {
         return ipFilter;
     }
+
+    public List<ServerSocketChannel> getServerChannels() {
+        return serverChannels;
+    }
+
+    public int getAcceptBurst() {
+        return acceptBurst;
+    }
+
+    /**
+     * @param acceptBurst max number of connections to accept per OP_ACCEPT event
+     */
+    public void setAcceptBurst(final int acceptBurst) {
+        this.acceptBurst = acceptBurst;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Set before bind
+     *
+     * @param backlog accept backlog of listening channels (0 or less: JDK default, capped by somaxconn)
+     */
+    public void setBacklog(final int backlog) {
+        this.backlog = backlog;
+    }
+
+    /**
+     * drains accept backlog of selected ServerSocketChannel
+     *
+     * @author Sangmin Lee
+     * @since 2026. 10. 17.
+     */
+    private class AcceptThread extends SelectThread {
+        public AcceptThread(Selector sel) {
+            super(sel);
+        }
+
+        protected void process(final SelectionKey key) {
+            if (key.isAcceptable()) {
+                ServerSocketChannel server = (ServerSocketChannel) key.channel();
+                for (int i = 0; i < acceptBurst; i++) {
+                    SocketChannel channel;
+                    try {
+                        channel = server.accept();
+                    } catch (IOException e) {
+                        LOGGER.error("can't accept client - " + e);
+                        LOGGER.trace(e);
+
+                        // backlog stays acceptable, so OP_ACCEPT would fail again right away
+                        key.interestOps(0);
+                        execute(() -> {
+                            if (key.isValid()) {
+                                key.interestOps(SelectionKey.OP_ACCEPT);
+                            }
+                        }, ACCEPT_BACKOFF);
+                        break;
+                    }
+
+                    // backlog is empty or other acceptor took it
+                    if (channel == null) {
+                        break;
+                    }
+                    filterAndAccept(channel);
+                }
+            }
+        }
+    }
 }
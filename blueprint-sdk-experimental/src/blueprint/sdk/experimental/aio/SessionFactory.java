@@ -0,0 +1,53 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import blueprint.sdk.experimental.aio.session.Session;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Creates a Session for each accepted channel.<br>
+ * <br>
+ * example:<br>
+ * new Proactor(3, 1, (channel, proactor) -&gt; new EchoSession(channel,
+ * proactor.getSessionRegistry(), proactor.getBufferSize(), proactor.getReadSelectorLB()), 1024,
+ * new RoundRobinStrategy());<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ * @see ReflectiveSessionFactory
+ */
+@FunctionalInterface
+public interface SessionFactory {
+    /**
+     * @param channel  accepted channel
+     * @param proactor proactor which owns the session
+     * @return new session
+     * @throws IOException can't create a session
+     */
+    Session newSession(SocketChannel channel, Proactor proactor) throws IOException;
+
+    /**
+     * Called once a session is terminated and no reactor holds it anymore (see Session.setRecycler),
+     * whoever terminated it (process(), idle timeout, Proactor...).<br>
+     * Override to recycle sessions: keep given session and return it from newSession() after
+     * session.reset(channel), which binds it to the new channel with a new id.<br>
+     *
+     * @param session terminated session
+     */
+    default void recycle(final Session session) {
+    }
+}
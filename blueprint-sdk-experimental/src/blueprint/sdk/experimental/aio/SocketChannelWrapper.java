@@ -19,24 +19,53 @@ import blueprint.sdk.util.Validator;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.*;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Provides EASIER way to handle SocketChannel.<br>
- * <b>This class is NOT THREAD SAFE.</b><br>
+ * <b>This class is NOT THREAD SAFE</b>, except for write(ByteBuffer) in non-blocking write mode.<br>
+ * <br>
+ * Non-blocking write mode (see setWriteThread):<br>
+ * write(ByteBuffer) writes as much as the socket takes and queues the rest. Queued buffers are
+ * flushed by WriteThread when the channel becomes writable. Don't modify a buffer once it's
+ * handed to write(ByteBuffer).<br>
+ * <br>
+ * Backpressure (non-blocking write mode only, see setWaterMarks & setOutboundBudget):<br>
+ * Reading stops while queued bytes exceed highWaterMark (or OutboundBudget is exhausted) and
+ * resumes once they drop to lowWaterMark. OP_READ requests are ignored meanwhile.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 25.
  */
 public class SocketChannelWrapper implements Terminatable {
+    /**
+     * max number of buffers per gathering write
+     */
+    private static final int GATHER_SIZE = 64;
+
     /**
      * wrapee (SocketChannel)
      */
     private transient SocketChannel channel;
 
     private transient TimeoutHandler timeoutHandler = null;
+    /**
+     * coarse clock for idle timeout (null: not tracked)
+     */
+    private transient IdleTimeoutWheel idleTimeoutWheel = null;
+    /**
+     * tick of IdleTimeoutWheel at last I/O
+     */
+    private transient volatile long lastAccessTick;
 
     private transient Selector acceptSelector;
     // anyone need this?
@@ -44,6 +73,85 @@ public class SocketChannelWrapper implements Terminatable {
     private transient Selector readSelector;
     private transient Selector writeSelector;
 
+    /**
+     * interest ops requested but not yet applied by a SelectThread<br>
+     * lower 16 bits: ops to set, upper 16 bits: ops to clear<br>
+     */
+    private transient final AtomicInteger pendingOps = new AtomicInteger(0);
+    /**
+     * SelectThread which owns this channel's OP_READ for the channel's lifetime
+     */
+    private transient volatile SelectThread readThread;
+    /**
+     * true: readThread's channel count is decreased already
+     */
+    private transient boolean readThreadReleased = false;
+    /**
+     * cached key of readSelector
+     */
+    private transient SelectionKey readKey;
+    /**
+     * object to attach to read key (usually a Session)
+     */
+    private transient volatile Object attachment;
+
+    /**
+     * thread which flushes outbound queue (null: blocking write mode)
+     */
+    private transient volatile WriteThread writeThread;
+    /**
+     * cached key of writeThread's selector
+     */
+    private transient SelectionKey writeKey;
+    /**
+     * ByteBuffers & FileRegions to write
+     */
+    private transient final Queue<Object> outbound = new ConcurrentLinkedQueue<>();
+    /**
+     * bytes in outbound queue
+     */
+    private transient final AtomicLong outboundBytes = new AtomicLong(0);
+    /**
+     * true: a thread is writing outbound queue
+     */
+    private transient final AtomicBoolean flushing = new AtomicBoolean(false);
+    /**
+     * true: waiting for OP_WRITE
+     */
+    private transient final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    /**
+     * true: terminate once outbound queue is flushed
+     */
+    private transient volatile boolean terminateWhenFlushed = false;
+    /**
+     * buffers for gathering write (used only by the thread holding 'flushing')
+     */
+    private transient ByteBuffer[] gather;
+
+    /**
+     * stop reading above this (bytes in outbound queue, 0: disabled)
+     */
+    private transient long highWaterMark = 0;
+    /**
+     * resume reading at or below this (bytes in outbound queue)
+     */
+    private transient long lowWaterMark = 0;
+    /**
+     * budget shared by all sessions (null: not used)
+     */
+    private transient OutboundBudget outboundBudget = null;
+    /**
+     * why reading is paused (PAUSED_BY_* bits, 0: not paused)
+     */
+    private transient final AtomicInteger readPause = new AtomicInteger(0);
+    private static final int PAUSED_BY_WATER_MARK = 1;
+    private static final int PAUSED_BY_BUDGET = 2;
+
+    /**
+     * counts bytes read & written (null: not counted)
+     */
+    private transient AioMetrics metrics = null;
+
     private transient boolean terminated = false;
 
     public SocketChannelWrapper(SocketChannel channel) {
@@ -51,6 +159,9 @@ public class SocketChannelWrapper implements Terminatable {
     }
 
     /**
+     * Call from the thread which selects given selector (see SelectThread.register)
+     * or while nobody selects it. Otherwise it could be blocked by select().
+     *
      * @param sel selector to register
      * @param ops interested ops
      * @return registered key
@@ -93,14 +204,137 @@ public class SocketChannelWrapper implements Terminatable {
                     break;
             }
 
-            sel.wakeup();
-            result = channel.register(sel, ops);
+            result = channel.register(sel, ops, attachment);
         } catch (CancelledKeyException | ClosedChannelException ignored) {
         }
 
         return result;
     }
 
+    /**
+     * merges given ops into pending interest ops (latest request wins for each op)
+     *
+     * @param setOps   ops to set
+     * @param clearOps ops to clear
+     * @return pending ops before merge (0: caller has to queue this wrapper)
+     */
+    int addPendingOps(final int setOps, final int clearOps) {
+        int prev;
+        int next;
+        do {
+            prev = pendingOps.get();
+            next = prev;
+            // set
+            next = (next | setOps) & ~(setOps << 16);
+            // clear
+            next = (next & ~clearOps) | (clearOps << 16);
+        } while (!pendingOps.compareAndSet(prev, next));
+        return prev;
+    }
+
+    /**
+     * @return pending interest ops (cleared)
+     */
+    int takePendingOps() {
+        return pendingOps.getAndSet(0);
+    }
+
+    /**
+     * Applies pending interest ops to given selector.<br>
+     * Registers only if there's no valid key yet, otherwise toggles interestOps of the key.<br>
+     * Must be called by the thread which selects given selector.<br>
+     *
+     * @param sel     selector to use
+     * @param pending pending ops (see takePendingOps)
+     */
+    void applyPendingOps(final Selector sel, final int pending) {
+        int setOps = pending & 0xffff;
+        int clearOps = pending >>> 16;
+        if (readPause.get() != 0) {
+            // backpressure: resumeReading() sets it again
+            setOps &= ~SelectionKey.OP_READ;
+        }
+
+        SelectionKey key = (sel == readSelector) ? readKey : channel.keyFor(sel);
+        if (Validator.isNotNull(key) && key.isValid()) {
+            if ((setOps & SelectionKey.OP_READ) != 0 && key != readKey) {
+                // adopting a key registered for other ops (e.g. OP_CONNECT)
+                key.attach(attachment);
+            }
+            key.interestOps((key.interestOps() | setOps) & ~clearOps);
+        } else if (setOps != 0) {
+            key = register(sel, setOps);
+        }
+
+        if ((setOps & SelectionKey.OP_READ) != 0 && Validator.isNotNull(key)) {
+            readSelector = sel;
+            readKey = key;
+        }
+    }
+
+    /**
+     * @return wrapped channel
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return object attached to selection keys
+     */
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    /**
+     * Sets an object to attach to selection keys registered afterwards (except OP_WRITE's).<br>
+     * SelectThreads get it back from SelectionKey.attachment() without any lookup.<br>
+     *
+     * @param attachment object to attach (usually a Session)
+     */
+    public void setAttachment(final Object attachment) {
+        this.attachment = attachment;
+    }
+
+    /**
+     * @return SelectThread which owns OP_READ of this channel (null: not bound yet)
+     */
+    public SelectThread getReadThread() {
+        return readThread;
+    }
+
+    /**
+     * pins this channel to given SelectThread, only if not pinned yet
+     *
+     * @param thread SelectThread to pin
+     * @return pinned SelectThread
+     */
+    synchronized SelectThread bindReadThread(final SelectThread thread) {
+        if (readThread == null) {
+            readThread = thread;
+            thread.increaseChannelCount();
+        }
+        return readThread;
+    }
+
+    private synchronized void releaseReadThread() {
+        if (readThread != null && !readThreadReleased) {
+            readThread.decreaseChannelCount();
+            readThreadReleased = true;
+        }
+    }
+
+    /**
+     * @return remote address of this channel (null: not connected)
+     */
+    public InetAddress getRemoteAddress() {
+        InetAddress result = null;
+        if (Validator.isNotNull(channel)) {
+            result = channel.socket().getInetAddress();
+        }
+        return result;
+    }
+
     @SuppressWarnings("WeakerAccess")
     public void cancel(int ops) {
         Selector sel = null;
@@ -155,6 +389,18 @@ public class SocketChannelWrapper implements Terminatable {
             channel.close();
 
             removeFromTimeoutHandler();
+            releaseReadThread();
+
+            Object pending;
+            while ((pending = outbound.poll()) != null) {
+                if (pending instanceof FileRegion) {
+                    ((FileRegion) pending).release();
+                }
+            }
+            long left = outboundBytes.getAndSet(0);
+            if (Validator.isNotNull(outboundBudget) && left > 0) {
+                outboundBudget.release(left);
+            }
         }
     }
 
@@ -169,16 +415,50 @@ public class SocketChannelWrapper implements Terminatable {
     }
 
     /**
-     * update timestamp of TimeoutHandler (if not null).<br>
+     * Tracks idle time with given wheel (see IdleTimeoutWheel.add).
+     *
+     * @param idleTimeoutWheel wheel to use
+     */
+    void setIdleTimeoutWheel(final IdleTimeoutWheel idleTimeoutWheel) {
+        this.idleTimeoutWheel = idleTimeoutWheel;
+        lastAccessTick = idleTimeoutWheel.currentTick();
+    }
+
+    /**
+     * @return tick of IdleTimeoutWheel at last I/O
+     */
+    long getLastAccessTick() {
+        return lastAccessTick;
+    }
+
+    /**
+     * update timestamp of IdleTimeoutWheel or TimeoutHandler (if not null).<br>
      * Call right after every SUCCESSFUL read/write.<br>
      */
     @SuppressWarnings("WeakerAccess")
     public void updateTimestamp() {
-        if (Validator.isNotNull(timeoutHandler)) {
+        if (Validator.isNotNull(idleTimeoutWheel)) {
+            // just a volatile write. IdleTimeoutWheel checks it lazily.
+            lastAccessTick = idleTimeoutWheel.currentTick();
+        } else if (Validator.isNotNull(timeoutHandler)) {
             timeoutHandler.updateTimestamp(this);
         }
     }
 
+    private void onRead(final long bytes) {
+        updateTimestamp();
+        if (Validator.isNotNull(metrics)) {
+            metrics.read(bytes);
+        }
+    }
+
+    private void onWritten(final long bytes) {
+        updateTimestamp();
+        if (Validator.isNotNull(metrics)) {
+            metrics.written(bytes);
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public void removeFromTimeoutHandler() {
         if (Validator.isNotNull(timeoutHandler)) {
@@ -189,7 +469,7 @@ public class SocketChannelWrapper implements Terminatable {
     public int read(ByteBuffer dst) throws IOException {
         int result = channel.read(dst);
         if (result > 0) {
-            updateTimestamp();
+            onRead(result);
         }
         return result;
     }
@@ -197,7 +477,7 @@ public class SocketChannelWrapper implements Terminatable {
     public long read(ByteBuffer[] dsts) throws IOException {
         long result = channel.read(dsts);
         if (result > 0) {
-            updateTimestamp();
+            onRead(result);
         }
         return result;
     }
@@ -205,12 +485,401 @@ public class SocketChannelWrapper implements Terminatable {
     public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
         long result = channel.read(dsts, offset, length);
         if (result > 0) {
-            updateTimestamp();
+            onRead(result);
         }
         return result;
     }
 
+    /**
+     * Writes given buffer.<br>
+     * In non-blocking write mode, remaining bytes are queued and this method returns immediately.<br>
+     *
+     * @param src data to write
+     * @throws IOException
+     */
     public void write(ByteBuffer src) throws IOException {
+        if (Validator.isNotNull(writeThread)) {
+            enqueue(src);
+        } else {
+            writeBlocking(src);
+        }
+    }
+
+    private void enqueue(final ByteBuffer src) throws IOException {
+        if (!isValid()) {
+            throw new ClosedChannelException();
+        }
+
+        if (src.hasRemaining()) {
+            // account before offer, or a concurrent flush may write & remove it first
+            addOutbound(src.remaining());
+            outbound.offer(src);
+
+            // WriteThread will flush as soon as the socket is writable
+            if (!writeScheduled.get()) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Writes outbound queue as much as possible without blocking.<br>
+     * Waits for OP_WRITE if the socket buffer is full.<br>
+     *
+     * @return true: outbound queue is empty
+     * @throws IOException
+     */
+    boolean flush() throws IOException {
+        do {
+            // someone else is flushing. it'll check the queue again on exit.
+            if (!flushing.compareAndSet(false, true)) {
+                return false;
+            }
+
+            boolean flushed;
+            try {
+                flushed = flushQueue();
+            } finally {
+                flushing.set(false);
+            }
+
+            if (!flushed) {
+                if (writeScheduled.compareAndSet(false, true)) {
+                    writeThread.schedule(this);
+                }
+                return false;
+            }
+        } while (!outbound.isEmpty());
+
+        if (terminateWhenFlushed) {
+            terminateFlushed();
+        }
+        return true;
+    }
+
+    /**
+     * Terminates once everything written so far is flushed (e.g. after a last response).<br>
+     * Attached Terminatable (usually a Session) is terminated instead, if there is one.<br>
+     * In blocking write mode, everything is already written, so it terminates right away.<br>
+     */
+    public void terminateWhenFlushed() {
+        terminateWhenFlushed = true;
+
+        // otherwise, the thread flushing last buffer terminates (may be both)
+        if (outbound.isEmpty()) {
+            terminateFlushed();
+        }
+    }
+
+    private void terminateFlushed() {
+        Object target = attachment;
+        if (target instanceof Terminatable) {
+            ((Terminatable) target).terminate();
+        } else {
+            terminate();
+        }
+    }
+
+    /**
+     * writes outbound queue with gathering writes (one syscall per GATHER_SIZE buffers)
+     * and FileChannel.transferTo
+     *
+     * @return true: outbound queue is empty
+     * @throws IOException
+     */
+    private boolean flushQueue() throws IOException {
+        if (gather == null) {
+            gather = new ByteBuffer[GATHER_SIZE];
+        }
+
+        Object head;
+        while ((head = outbound.peek()) != null) {
+            if (head instanceof FileRegion) {
+                FileRegion region = (FileRegion) head;
+                long len = region.transferTo(channel);
+                if (len > 0) {
+                    removeOutbound(len);
+                    onWritten(len);
+                }
+
+                if (!region.isDone()) {
+                    return false;
+                }
+                outbound.poll();
+                region.release();
+                continue;
+            }
+
+            // gather consecutive ByteBuffers
+            int count = 0;
+            for (Object element : outbound) {
+                if (!(element instanceof ByteBuffer)) {
+                    break;
+                }
+                gather[count++] = (ByteBuffer) element;
+                if (count == GATHER_SIZE) {
+                    break;
+                }
+            }
+
+            long len = channel.write(gather, 0, count);
+            if (len > 0) {
+                removeOutbound(len);
+                onWritten(len);
+            }
+
+            boolean drained = true;
+            for (int i = 0; i < count; i++) {
+                if (gather[i].hasRemaining()) {
+                    drained = false;
+                    break;
+                }
+                outbound.poll();
+            }
+            Arrays.fill(gather, 0, count, null);
+
+            if (!drained) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * registers OP_WRITE to given selector (WriteThread only)
+     *
+     * @param sel WriteThread's selector
+     * @throws ClosedChannelException
+     */
+    void enableWrite(final Selector sel) throws ClosedChannelException {
+        SelectionKey key = writeKey;
+        if (Validator.isNotNull(key) && key.isValid()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        } else {
+            writeKey = channel.register(sel, SelectionKey.OP_WRITE, this);
+            writeSelector = sel;
+        }
+    }
+
+    /**
+     * flushes outbound queue (WriteThread only)
+     *
+     * @param key writeKey
+     * @throws IOException
+     */
+    void onWritable(final SelectionKey key) throws IOException {
+        if (flush()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            writeScheduled.set(false);
+
+            // producers skip flushing while OP_WRITE is scheduled
+            if (!outbound.isEmpty()) {
+                flush();
+            }
+        }
+    }
+
+    private void addOutbound(final long length) {
+        long queued = outboundBytes.addAndGet(length);
+
+        OutboundBudget budget = outboundBudget;
+        if (Validator.isNotNull(budget)) {
+            budget.add(length);
+            if (budget.isExhausted() && pauseReading(PAUSED_BY_BUDGET)) {
+                budget.park(this);
+            }
+        }
+
+        if (highWaterMark > 0 && queued > highWaterMark) {
+            pauseReading(PAUSED_BY_WATER_MARK);
+        }
+    }
+
+    private void removeOutbound(final long length) {
+        long queued = outboundBytes.addAndGet(-length);
+
+        if (Validator.isNotNull(outboundBudget)) {
+            outboundBudget.release(length);
+        }
+
+        if (queued <= lowWaterMark) {
+            resumeReading(PAUSED_BY_WATER_MARK);
+        }
+    }
+
+    /**
+     * called by OutboundBudget when it drops to its lowWaterMark
+     */
+    void resumeFromBudget() {
+        resumeReading(PAUSED_BY_BUDGET);
+    }
+
+    /**
+     * @param reason PAUSED_BY_* bit
+     * @return true: reading is paused for given reason by this call
+     */
+    private boolean pauseReading(final int reason) {
+        int prev;
+        do {
+            prev = readPause.get();
+            if ((prev & reason) != 0) {
+                return false;
+            }
+        } while (!readPause.compareAndSet(prev, prev | reason));
+
+        SelectThread thread = readThread;
+        if (prev == 0 && Validator.isNotNull(thread)) {
+            thread.suspend(this, SelectionKey.OP_READ);
+        }
+        return true;
+    }
+
+    /**
+     * @param reason PAUSED_BY_* bit
+     */
+    private void resumeReading(final int reason) {
+        int prev;
+        do {
+            prev = readPause.get();
+            if ((prev & reason) == 0) {
+                return;
+            }
+        } while (!readPause.compareAndSet(prev, prev & ~reason));
+
+        SelectThread thread = readThread;
+        if (prev == reason && Validator.isNotNull(thread) && isValid()) {
+            thread.register(this, SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * @return true: reading is paused by backpressure
+     */
+    public boolean isReadPaused() {
+        return readPause.get() != 0;
+    }
+
+    /**
+     * Stops reading while outbound queue holds more than highWaterMark bytes (non-blocking write mode only)
+     *
+     * @param highWaterMark stop reading above this (bytes, 0: disabled)
+     * @param lowWaterMark  resume reading at or below this (bytes)
+     */
+    public void setWaterMarks(final long highWaterMark, final long lowWaterMark) {
+        if (lowWaterMark > highWaterMark) {
+            throw new IllegalArgumentException("lowWaterMark must not be greater than highWaterMark");
+        }
+
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    public OutboundBudget getOutboundBudget() {
+        return outboundBudget;
+    }
+
+    /**
+     * Call before first write.
+     *
+     * @param outboundBudget budget shared by all sessions (null: not used)
+     */
+    public void setOutboundBudget(final OutboundBudget outboundBudget) {
+        this.outboundBudget = outboundBudget;
+    }
+
+    /**
+     * @return bytes in outbound queue (non-blocking write mode only)
+     */
+    public long getOutboundBytes() {
+        return outboundBytes.get();
+    }
+
+    public WriteThread getWriteThread() {
+        return writeThread;
+    }
+
+    /**
+     * Enables non-blocking write mode.<br>
+     * Call before first write.<br>
+     *
+     * @param writeThread thread which flushes outbound queue (null: blocking write mode)
+     */
+    public void setWriteThread(final WriteThread writeThread) {
+        this.writeThread = writeThread;
+    }
+
+    /**
+     * Sends a file region with FileChannel.transferTo (zero-copy).<br>
+     * In non-blocking write mode, the region is queued behind pending writes and this method
+     * returns immediately.<br>
+     *
+     * @param region region to send
+     * @throws IOException
+     */
+    public void write(final FileRegion region) throws IOException {
+        if (Validator.isNotNull(writeThread)) {
+            if (!isValid()) {
+                region.release();
+                throw new ClosedChannelException();
+            }
+
+            if (region.isDone()) {
+                region.release();
+            } else {
+                addOutbound(region.getRemaining());
+                outbound.offer(region);
+
+                if (!writeScheduled.get()) {
+                    flush();
+                }
+            }
+        } else {
+            try {
+                while (!region.isDone()) {
+                    long len = region.transferTo(channel);
+                    if (len > 0) {
+                        onWritten(len);
+                    } else {
+                        awaitWritable();
+                    }
+                }
+            } finally {
+                region.release();
+            }
+        }
+    }
+
+    /**
+     * blocks until the channel becomes writable (blocking write mode only)
+     *
+     * @throws IOException timed out or I/O error
+     */
+    private void awaitWritable() throws IOException {
+        Selector sel = SelectorFactory.get();
+        SelectionKey key = null;
+        try {
+            key = channel.register(sel, SelectionKey.OP_WRITE);
+            if (sel.select(30 * 1000) == 0) {
+                throw new IOException("Client disconnected");
+            }
+        } finally {
+            if (Validator.isNotNull(key)) {
+                key.cancel();
+            }
+            SelectorFactory.release(sel);
+        }
+    }
+
+    private void writeBlocking(final ByteBuffer src) throws IOException {
         int attempts = 0;
         SelectionKey key = null;
 
@@ -235,7 +904,7 @@ public class SocketChannelWrapper implements Terminatable {
                     }
                 } else {
                     attempts = 0;
-                    updateTimestamp();
+                    onWritten(len);
                 }
             }
         } finally {
@@ -243,14 +912,17 @@ public class SocketChannelWrapper implements Terminatable {
                 key.cancel();
             }
 
-            SelectorFactory.release(writeSelector);
+            if (Validator.isNotNull(writeSelector)) {
+                SelectorFactory.release(writeSelector);
+                writeSelector = null;
+            }
         }
     }
 
     public long write(ByteBuffer[] srcs) throws IOException {
         long result = channel.write(srcs);
         if (result > 0) {
-            updateTimestamp();
+            onWritten(result);
         }
         return result;
     }
@@ -258,11 +930,74 @@ public class SocketChannelWrapper implements Terminatable {
     public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
         long result = channel.write(srcs, offset, length);
         if (result > 0) {
-            updateTimestamp();
+            onWritten(result);
         }
         return result;
     }
 
+    /**
+     * Writes all given buffers with gathering writes.<br>
+     * In non-blocking write mode, remaining bytes are queued and this method returns immediately.<br>
+     *
+     * @param srcs   data to write
+     * @param offset offset of first buffer
+     * @param length number of buffers
+     * @throws IOException
+     */
+    public void writeAll(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        if (Validator.isNotNull(writeThread)) {
+            if (!isValid()) {
+                throw new ClosedChannelException();
+            }
+
+            long queued = 0;
+            for (int i = offset; i < offset + length; i++) {
+                queued += srcs[i].remaining();
+            }
+            if (queued > 0) {
+                addOutbound(queued);
+            }
+            for (int i = offset; i < offset + length; i++) {
+                if (srcs[i].hasRemaining()) {
+                    outbound.offer(srcs[i]);
+                }
+            }
+
+            if (!writeScheduled.get()) {
+                flush();
+            }
+        } else {
+            int first = offset;
+            int end = offset + length;
+            while (first < end) {
+                long len = write(srcs, first, end - first);
+                if (len == -1) {
+                    throw new EOFException();
+                }
+
+                while (first < end && !srcs[first].hasRemaining()) {
+                    first++;
+                }
+
+                if (len == 0 && first < end) {
+                    // socket buffer is full. wait for it.
+                    writeBlocking(srcs[first]);
+                }
+            }
+        }
+    }
+
+    public AioMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param metrics counts bytes read & written (null: not counted)
+     */
+    public void setMetrics(final AioMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public boolean isValid() {
         return Validator.isValid(channel);
     }
@@ -284,6 +1019,7 @@ public class SocketChannelWrapper implements Terminatable {
     protected void finalize() throws Throwable {
         channel = null;
         timeoutHandler = null;
+        idleTimeoutWheel = null;
 
         super.finalize();
     }
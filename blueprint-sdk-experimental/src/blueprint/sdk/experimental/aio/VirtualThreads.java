@@ -0,0 +1,96 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates virtual thread executors (Java 21+) without compiling against them.<br>
+ * <br>
+ * example:<br>
+ * proactor.setExecutor(VirtualThreads.newExecutor());<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public final class VirtualThreads {
+    /**
+     * Thread.isVirtual() (null: not supported)
+     */
+    private static final Method IS_VIRTUAL = getIsVirtualMethod();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true: current JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return getFactoryMethod() != null;
+    }
+
+    /**
+     * @return an executor which starts a new virtual thread for each task
+     * @throws UnsupportedOperationException current JVM doesn't support virtual threads
+     */
+    public static ExecutorService newExecutor() {
+        Method method = getFactoryMethod();
+        if (method == null) {
+            throw new UnsupportedOperationException("virtual threads require Java 21 or later");
+        }
+
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException("can't create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * @param thread thread to check
+     * @return true: given thread is a virtual thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Method getIsVirtualMethod() {
+        Method result;
+        try {
+            result = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            result = null;
+        }
+        return result;
+    }
+
+    private static Method getFactoryMethod() {
+        Method result;
+        try {
+            result = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            result = null;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import blueprint.sdk.experimental.aio.session.Session;
+import blueprint.sdk.logger.Logger;
+
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Flushes outbound queues of SocketChannelWrappers whenever their channels become writable.<br>
+ * A wrapper is registered for OP_WRITE only while its socket buffer is full, so reactors never
+ * block on slow clients.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ * @see SocketChannelWrapper#setWriteThread(WriteThread)
+ */
+@SuppressWarnings("WeakerAccess")
+public class WriteThread extends SelectThread {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    public WriteThread(final Selector selector) {
+        super(selector);
+        setName("WriteThread");
+    }
+
+    /**
+     * waits for OP_WRITE of given wrapper
+     *
+     * @param wrapper wrapper with pending outbound data
+     */
+    void schedule(final SocketChannelWrapper wrapper) {
+        execute(() -> {
+            try {
+                wrapper.enableWrite(getSelector());
+            } catch (Exception e) {
+                LOGGER.debug(this, "can't wait for OP_WRITE - " + e);
+                fail(wrapper);
+            }
+        });
+    }
+
+    protected void process(final SelectionKey key) {
+        Object attachment = key.attachment();
+        if (attachment instanceof SocketChannelWrapper) {
+            SocketChannelWrapper wrapper = (SocketChannelWrapper) attachment;
+            try {
+                if (key.isWritable()) {
+                    wrapper.onWritable(key);
+                }
+            } catch (CancelledKeyException ignored) {
+            } catch (Exception e) {
+                LOGGER.debug(this, "write failed - " + e);
+                fail(wrapper);
+            }
+        }
+    }
+
+    /**
+     * terminates owning session too (if any), so that it's dropped from registry & recycled
+     */
+    private static void fail(final SocketChannelWrapper wrapper) {
+        Object attachment = wrapper.getAttachment();
+        if (attachment instanceof Session) {
+            ((Session) attachment).terminate();
+        } else {
+            wrapper.terminate();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.client;
+
+import blueprint.sdk.experimental.aio.SelectThread;
+import blueprint.sdk.experimental.aio.SocketChannelWrapper;
+import blueprint.sdk.experimental.aio.protocol.Protocol;
+import blueprint.sdk.util.Terminatable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.util.function.Consumer;
+
+/**
+ * A client channel with its Protocol & read buffer.<br>
+ * <br>
+ * Readiness is detected by the SelectThread which connected the channel, just like server side
+ * sessions. Protocol resumes OP_READ when it needs more bytes, so a caller reads like this:<br>
+ * <pre>
+ * ByteBuffer frame;
+ * while ((frame = protocol.readFrame(con.getReadBuffer())) == null) {
+ *     con.awaitReadable(timeout);
+ * }
+ * </pre>
+ * Only one thread should use a connection at a time (see ConnectionPool), unless a read listener
+ * consumes incoming data on the SelectThread (see MultiplexedClient).<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ClientConnection implements Terminatable, SelectThread.SelectHandler {
+    private transient final InetSocketAddress address;
+    private transient final SocketChannelWrapper wrapper;
+    private transient final Protocol protocol;
+    private transient final ByteBuffer readBuffer;
+    /**
+     * for health check
+     */
+    private transient final ByteBuffer probe = ByteBuffer.allocate(1);
+
+    /**
+     * called on SelectThread when readable (null: wake up awaitReadable() instead)
+     */
+    private transient volatile Consumer<ClientConnection> readListener = null;
+    /**
+     * true: channel became readable & nobody consumed the event yet
+     */
+    private transient boolean readable = false;
+    /**
+     * last time this connection was released to pool (msec)
+     */
+    private transient volatile long lastUsed = System.currentTimeMillis();
+
+    /**
+     * Constructor
+     *
+     * @param address        remote address
+     * @param wrapper        connected channel
+     * @param protocol       protocol of the channel
+     * @param readBufferSize read buffer size in byte
+     */
+    public ClientConnection(final InetSocketAddress address, final SocketChannelWrapper wrapper,
+                            final Protocol protocol, final int readBufferSize) {
+        this.address = address;
+        this.wrapper = wrapper;
+        this.protocol = protocol;
+        readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+
+        wrapper.setAttachment(this);
+    }
+
+    /**
+     * called by SelectThread
+     *
+     * @param key selected key
+     */
+    public void handle(final SelectionKey key) {
+        if (key.isReadable()) {
+            // pause until Protocol resumes reading
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            onReadable();
+        }
+    }
+
+    /**
+     * called on SelectThread when the channel becomes readable
+     */
+    protected void onReadable() {
+        Consumer<ClientConnection> listener = readListener;
+        if (listener != null) {
+            listener.accept(this);
+            return;
+        }
+
+        synchronized (this) {
+            readable = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the channel becomes readable.<br>
+     * Call after Protocol returned nothing (it resumes reading then).<br>
+     *
+     * @param timeout max time to wait (msec)
+     * @throws SocketTimeoutException  timed out
+     * @throws ClosedChannelException channel is closed
+     * @throws IOException            interrupted
+     */
+    public void awaitReadable(final long timeout) throws IOException {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        synchronized (this) {
+            while (!readable) {
+                if (!isValid()) {
+                    throw new ClosedChannelException();
+                }
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new SocketTimeoutException("read timed out - " + address);
+                }
+
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted", e);
+                }
+            }
+            readable = false;
+        }
+    }
+
+    /**
+     * Default health check for idle connections.<br>
+     * An idle connection must have nothing to read. EOF or unexpected bytes mean it's broken.<br>
+     *
+     * @return true: healthy
+     */
+    public boolean isHealthy() {
+        if (!isValid()) {
+            return false;
+        }
+
+        try {
+            probe.clear();
+            return wrapper.getChannel().read(probe) == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Consumer<ClientConnection> getReadListener() {
+        return readListener;
+    }
+
+    /**
+     * Reads on SelectThread instead of caller's thread.<br>
+     * Listener must not block, and it's responsible to read with Protocol (which resumes reading).<br>
+     *
+     * @param readListener called on SelectThread when readable (null: wake up awaitReadable() instead)
+     */
+    public void setReadListener(final Consumer<ClientConnection> readListener) {
+        this.readListener = readListener;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    public SocketChannelWrapper getWrapper() {
+        return wrapper;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public ByteBuffer getReadBuffer() {
+        return readBuffer;
+    }
+
+    /**
+     * @return last time this connection was released to pool (msec)
+     */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    public boolean isValid() {
+        return wrapper.isValid();
+    }
+
+    public boolean isTerminated() {
+        return wrapper.isTerminated();
+    }
+
+    public void terminate() {
+        wrapper.terminate();
+
+        // wake up readers
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ClientConnection[" + address + "]";
+    }
+}
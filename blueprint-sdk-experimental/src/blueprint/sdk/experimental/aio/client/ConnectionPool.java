@@ -0,0 +1,359 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.client;
+
+import blueprint.sdk.experimental.aio.protocol.ProtocolFactory;
+import blueprint.sdk.logger.Logger;
+import blueprint.sdk.util.Terminatable;
+import blueprint.sdk.util.Validator;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Pool of client connections, keyed by remote address.<br>
+ * <br>
+ * Up to maxPerHost connections are opened for each address. Callers beyond that wait for a
+ * released connection. Idle connections are reused in LIFO order, checked before reuse and
+ * evicted after idleTimeout.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ConnectionPool implements Terminatable {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    private transient final Connector connector;
+    private transient final ProtocolFactory protocolFactory;
+    /**
+     * read buffer size of each connection in byte
+     */
+    private final int readBufferSize;
+    /**
+     * max number of connections per address
+     */
+    private final int maxPerHost;
+    /**
+     * idle connections are closed after this (msec)
+     */
+    private final long idleTimeout;
+
+    private transient final Map<InetSocketAddress, Host> hosts = new ConcurrentHashMap<>();
+    private transient final ScheduledFuture<?> evictor;
+    /**
+     * checks idle connections before reuse & while evicting
+     */
+    private transient Predicate<ClientConnection> healthCheck = ClientConnection::isHealthy;
+
+    private transient volatile boolean terminated = false;
+
+    /**
+     * Constructor
+     *
+     * @param connector       opens connections
+     * @param protocolFactory creates Protocol of each connection (e.g. LengthFieldFrameProtocol::new)
+     * @param readBufferSize  read buffer size of each connection in byte
+     * @param maxPerHost      max number of connections per address
+     * @param idleTimeout     idle connections are closed after this (msec)
+     */
+    public ConnectionPool(final Connector connector, final ProtocolFactory protocolFactory,
+                          final int readBufferSize, final int maxPerHost, final long idleTimeout) {
+        if (maxPerHost <= 0) {
+            throw new IllegalArgumentException("maxPerHost must be greater than 0");
+        }
+
+        this.connector = connector;
+        this.protocolFactory = protocolFactory;
+        this.readBufferSize = readBufferSize;
+        this.maxPerHost = maxPerHost;
+        this.idleTimeout = idleTimeout;
+
+        long period = Math.max(idleTimeout / 2, 1000);
+        evictor = connector.getScheduler().scheduleWithFixedDelay(this::evict, period, period,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes an idle connection or opens a new one
+     *
+     * @param address remote address
+     * @return connection (completed once one is available)
+     */
+    public CompletableFuture<ClientConnection> acquire(final InetSocketAddress address) {
+        CompletableFuture<ClientConnection> result = new CompletableFuture<>();
+        if (terminated) {
+            result.completeExceptionally(new ClosedChannelException());
+            return result;
+        }
+
+        Host host = hosts.computeIfAbsent(address, key -> new Host());
+        while (true) {
+            ClientConnection con;
+            synchronized (host) {
+                con = host.idle.pollFirst();
+                if (con == null) {
+                    if (host.count < maxPerHost) {
+                        host.count++;
+                        break;
+                    }
+
+                    // wait for release
+                    host.waiters.offer(result);
+                    return result;
+                }
+            }
+
+            if (healthCheck.test(con)) {
+                result.complete(con);
+                return result;
+            }
+            discard(host, con);
+        }
+
+        open(host, address, result);
+        return result;
+    }
+
+    /**
+     * Returns a connection to pool.<br>
+     * <b>Don't use it afterwards.</b> Invalidate instead if it's in an unknown state.<br>
+     *
+     * @param con connection to return
+     */
+    public void release(final ClientConnection con) {
+        Host host = hosts.get(con.getAddress());
+        if (host == null) {
+            con.terminate();
+            return;
+        }
+        if (terminated || !con.isValid()) {
+            discard(host, con);
+            return;
+        }
+
+        con.touch();
+        offer(host, con);
+    }
+
+    /**
+     * hands a connection to a waiter, or puts it back to idle (lastUsed is kept as is)
+     */
+    private void offer(final Host host, final ClientConnection con) {
+        while (true) {
+            CompletableFuture<ClientConnection> waiter;
+            synchronized (host) {
+                waiter = host.waiters.poll();
+                if (waiter == null) {
+                    host.idle.offerFirst(con);
+                    return;
+                }
+            }
+
+            // false: waiter gave up (e.g. cancelled)
+            if (waiter.complete(con)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes a broken connection & frees its slot
+     *
+     * @param con connection to close
+     */
+    public void invalidate(final ClientConnection con) {
+        Host host = hosts.get(con.getAddress());
+        if (host == null) {
+            con.terminate();
+        } else {
+            discard(host, con);
+        }
+    }
+
+    private void open(final Host host, final InetSocketAddress address,
+                      final CompletableFuture<ClientConnection> target) {
+        connector.connect(address).whenComplete((wrapper, e) -> {
+            if (Validator.isNotNull(e)) {
+                freeSlot(host, address);
+                target.completeExceptionally(e);
+            } else {
+                ClientConnection con = new ClientConnection(address, wrapper,
+                        protocolFactory.newProtocol(wrapper, connector.getSelectorLB()), readBufferSize);
+                if (!target.complete(con)) {
+                    release(con);
+                }
+            }
+        });
+    }
+
+    private void discard(final Host host, final ClientConnection con) {
+        con.terminate();
+        freeSlot(host, con.getAddress());
+    }
+
+    /**
+     * frees a slot, or opens a new connection for a waiter with it
+     */
+    private void freeSlot(final Host host, final InetSocketAddress address) {
+        CompletableFuture<ClientConnection> waiter;
+        synchronized (host) {
+            waiter = terminated ? null : host.waiters.poll();
+            if (waiter == null) {
+                host.count--;
+            }
+        }
+
+        if (Validator.isNotNull(waiter)) {
+            open(host, address, waiter);
+        }
+    }
+
+    /**
+     * closes expired or unhealthy idle connections
+     */
+    private void evict() {
+        long expiry = System.currentTimeMillis() - idleTimeout;
+
+        for (Map.Entry<InetSocketAddress, Host> entry : hosts.entrySet()) {
+            Host host = entry.getValue();
+
+            List<ClientConnection> candidates;
+            synchronized (host) {
+                candidates = new ArrayList<>(host.idle);
+                host.idle.clear();
+            }
+
+            // oldest first, so that most recently used ones end up first again
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                ClientConnection con = candidates.get(i);
+                if (terminated || con.getLastUsed() < expiry || !healthCheck.test(con)) {
+                    LOGGER.debug(this, "evicting " + con);
+                    discard(host, con);
+                } else {
+                    // not release(), an idle connection must keep aging
+                    offer(host, con);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param address remote address
+     * @return number of open (or opening) connections to given address
+     */
+    public int getCount(final InetSocketAddress address) {
+        Host host = hosts.get(address);
+        if (host == null) {
+            return 0;
+        }
+        synchronized (host) {
+            return host.count;
+        }
+    }
+
+    /**
+     * @param address remote address
+     * @return number of idle connections to given address
+     */
+    public int getIdleCount(final InetSocketAddress address) {
+        Host host = hosts.get(address);
+        if (host == null) {
+            return 0;
+        }
+        synchronized (host) {
+            return host.idle.size();
+        }
+    }
+
+    public Connector getConnector() {
+        return connector;
+    }
+
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * @param healthCheck checks idle connections before reuse & while evicting
+     */
+    public void setHealthCheck(final Predicate<ClientConnection> healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    public boolean isValid() {
+        return !terminated;
+    }
+
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    public void terminate() {
+        terminated = true;
+        evictor.cancel(false);
+
+        for (Host host : hosts.values()) {
+            List<ClientConnection> idle;
+            List<CompletableFuture<ClientConnection>> waiters;
+            synchronized (host) {
+                idle = new ArrayList<>(host.idle);
+                host.idle.clear();
+                host.count -= idle.size();
+                waiters = new ArrayList<>(host.waiters);
+                host.waiters.clear();
+            }
+
+            for (ClientConnection con : idle) {
+                con.terminate();
+            }
+            for (CompletableFuture<ClientConnection> waiter : waiters) {
+                waiter.completeExceptionally(new ClosedChannelException());
+            }
+        }
+    }
+
+    /**
+     * connections to an address
+     */
+    private static class Host {
+        /**
+         * idle connections (most recently used first)
+         */
+        final Deque<ClientConnection> idle = new ArrayDeque<>();
+        /**
+         * callers waiting for a connection
+         */
+        final Queue<CompletableFuture<ClientConnection>> waiters = new ArrayDeque<>();
+        /**
+         * number of open (or opening) connections
+         */
+        int count = 0;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.client;
+
+import blueprint.sdk.experimental.aio.SelectThread;
+import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
+import blueprint.sdk.experimental.aio.SocketChannelWrapper;
+import blueprint.sdk.logger.Logger;
+import blueprint.sdk.util.Terminatable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens client channels without blocking.<br>
+ * <br>
+ * OP_CONNECT is selected by existing SelectThreads (e.g. Proactor.getReadSelectorLB()), and each
+ * channel stays pinned to the SelectThread which connected it.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class Connector implements Terminatable {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    private transient final SelectorLoadBalancer selectorLB;
+    /**
+     * runs connect timeouts & ConnectionPool's maintenance
+     */
+    private transient final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * connect timeout (msec)
+     */
+    private long connectTimeout = 10 * 1000;
+
+    private transient boolean terminated = false;
+
+    /**
+     * Constructor
+     *
+     * @param selectorLB SelectThreads to select OP_CONNECT & OP_READ with
+     */
+    public Connector(final SelectorLoadBalancer selectorLB) {
+        this.selectorLB = selectorLB;
+
+        scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "Connector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Connects to given address
+     *
+     * @param address address to connect
+     * @return connected channel (completed exceptionally on failure or timeout)
+     */
+    public CompletableFuture<SocketChannelWrapper> connect(final InetSocketAddress address) {
+        CompletableFuture<SocketChannelWrapper> result = new CompletableFuture<>();
+
+        SocketChannel channel = null;
+        try {
+            if (terminated) {
+                throw new ClosedChannelException();
+            }
+
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            SocketChannelWrapper wrapper = new SocketChannelWrapper(channel);
+            SelectThread thread = selectorLB.bind(wrapper);
+            if (thread == null) {
+                throw new ClosedChannelException();
+            }
+
+            if (channel.connect(address)) {
+                wrapper.updateTimestamp();
+                result.complete(wrapper);
+            } else {
+                PendingConnect pending = new PendingConnect(wrapper, result);
+                thread.execute(() -> pending.register(thread));
+
+                ScheduledFuture<?> timeout = scheduler.schedule(
+                        () -> pending.fail(new SocketTimeoutException("connect timed out - " + address)),
+                        connectTimeout, TimeUnit.MILLISECONDS);
+                result.whenComplete((connected, e) -> timeout.cancel(false));
+            }
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    public SelectorLoadBalancer getSelectorLB() {
+        return selectorLB;
+    }
+
+    /**
+     * @return scheduler for maintenance tasks (single daemon thread)
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @param connectTimeout connect timeout (msec)
+     */
+    public void setConnectTimeout(final long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public boolean isValid() {
+        return !terminated;
+    }
+
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    public void terminate() {
+        terminated = true;
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * waits for OP_CONNECT on a SelectThread
+     */
+    private static class PendingConnect implements SelectThread.SelectHandler {
+        private final SocketChannelWrapper wrapper;
+        private final CompletableFuture<SocketChannelWrapper> future;
+
+        PendingConnect(final SocketChannelWrapper wrapper, final CompletableFuture<SocketChannelWrapper> future) {
+            this.wrapper = wrapper;
+            this.future = future;
+        }
+
+        void register(final SelectThread thread) {
+            try {
+                wrapper.getChannel().register(thread.getSelector(), SelectionKey.OP_CONNECT, this);
+            } catch (ClosedChannelException e) {
+                fail(e);
+            }
+        }
+
+        public void handle(final SelectionKey key) {
+            if (!key.isConnectable()) {
+                return;
+            }
+
+            try {
+                if (wrapper.getChannel().finishConnect()) {
+                    // key is adopted when OP_READ is requested (see SocketChannelWrapper.applyPendingOps)
+                    key.interestOps(0);
+                    key.attach(null);
+                    wrapper.updateTimestamp();
+
+                    if (!future.complete(wrapper)) {
+                        // timed out already
+                        wrapper.terminate();
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        void fail(final Throwable cause) {
+            if (future.completeExceptionally(cause)) {
+                LOGGER.debug(this, "connect failed - " + cause);
+                wrapper.terminate();
+            }
+        }
+    }
+}
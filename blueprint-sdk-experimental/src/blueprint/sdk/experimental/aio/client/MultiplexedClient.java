@@ -0,0 +1,288 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.client;
+
+import blueprint.sdk.experimental.aio.protocol.LengthFieldFrameProtocol;
+import blueprint.sdk.logger.Logger;
+import blueprint.sdk.util.Terminatable;
+import blueprint.sdk.util.Validator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request/response client which shares each channel among many outstanding requests.<br>
+ * <br>
+ * Frame: 4 byte length field | 8 byte correlation id | body<br>
+ * Servers reply with the same correlation id, in any order.<br>
+ * <br>
+ * Responses are read on SelectThreads, so non-async dependent stages of returned futures
+ * run on a SelectThread. Use async variants (e.g. thenApplyAsync) for blocking work.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class MultiplexedClient implements Terminatable {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    /**
+     * size of correlation id in byte
+     */
+    private static final int ID_SIZE = 8;
+
+    private transient final ConnectionPool pool;
+    /**
+     * number of channels to share per address
+     */
+    private final int channelsPerHost;
+    /**
+     * requests are failed after this (msec)
+     */
+    private long requestTimeout = 30 * 1000;
+
+    private transient final AtomicLong nextId = new AtomicLong(0);
+    private transient final Map<InetSocketAddress, Host> hosts = new ConcurrentHashMap<>();
+
+    private transient volatile boolean terminated = false;
+
+    /**
+     * Constructor
+     *
+     * @param connector       opens channels
+     * @param readBufferSize  read buffer size of each channel in byte
+     * @param channelsPerHost number of channels to share per address
+     */
+    public MultiplexedClient(final Connector connector, final int readBufferSize, final int channelsPerHost) {
+        this.channelsPerHost = channelsPerHost;
+
+        // channels are held until they break, so idle timeout doesn't matter
+        pool = new ConnectionPool(connector, LengthFieldFrameProtocol::new, readBufferSize, channelsPerHost,
+                Long.MAX_VALUE / 2);
+        // shared channels are never idle & clean, so skip default health check
+        pool.setHealthCheck(ClientConnection::isValid);
+    }
+
+    /**
+     * Sends a request
+     *
+     * @param address remote address
+     * @param body    request body (don't modify it until returned future is completed)
+     * @return response body (completed exceptionally on I/O failure or timeout)
+     */
+    public CompletableFuture<ByteBuffer> request(final InetSocketAddress address, final ByteBuffer body) {
+        if (terminated) {
+            CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+            result.completeExceptionally(new ClosedChannelException());
+            return result;
+        }
+
+        Host host = hosts.computeIfAbsent(address, key -> new Host(channelsPerHost));
+        return host.next(address).thenCompose(channel -> channel.send(body));
+    }
+
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @param requestTimeout requests are failed after this (msec)
+     */
+    public void setRequestTimeout(final long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @param address remote address
+     * @return number of outstanding requests to given address
+     */
+    public int getPendingCount(final InetSocketAddress address) {
+        int result = 0;
+
+        Host host = hosts.get(address);
+        if (host != null) {
+            for (CompletableFuture<Channel> slot : host.slots) {
+                if (slot != null && slot.isDone() && !slot.isCompletedExceptionally()) {
+                    result += slot.join().pending.size();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    public boolean isValid() {
+        return !terminated;
+    }
+
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    public void terminate() {
+        terminated = true;
+
+        for (Host host : hosts.values()) {
+            for (CompletableFuture<Channel> slot : host.slots) {
+                if (slot != null) {
+                    slot.thenAccept(channel -> channel.fail(new ClosedChannelException()));
+                }
+            }
+        }
+        pool.terminate();
+    }
+
+    /**
+     * channels to an address
+     */
+    private class Host {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<Channel>[] slots;
+        final AtomicInteger counter = new AtomicInteger(0);
+
+        @SuppressWarnings("unchecked")
+        Host(final int size) {
+            slots = new CompletableFuture[size];
+        }
+
+        /**
+         * @return next channel in round-robin (opened on demand)
+         */
+        CompletableFuture<Channel> next(final InetSocketAddress address) {
+            int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % slots.length;
+
+            synchronized (this) {
+                CompletableFuture<Channel> slot = slots[index];
+                if (slot == null || slot.isCompletedExceptionally()
+                        || (slot.isDone() && !slot.join().con.isValid())) {
+                    slot = pool.acquire(address).thenApply(Channel::new);
+                    slots[index] = slot;
+                }
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * a shared channel & its outstanding requests
+     */
+    private class Channel {
+        final ClientConnection con;
+        final LengthFieldFrameProtocol protocol;
+        final Map<Long, CompletableFuture<ByteBuffer>> pending = new ConcurrentHashMap<>();
+        /**
+         * connection is invalidated only once (writers & SelectThread may fail together)
+         */
+        final AtomicBoolean failed = new AtomicBoolean(false);
+
+        Channel(final ClientConnection con) {
+            this.con = con;
+            protocol = (LengthFieldFrameProtocol) con.getProtocol();
+
+            con.setReadListener(this::onReadable);
+            pool.getConnector().getSelectorLB().register(con.getWrapper(), SelectionKey.OP_READ);
+        }
+
+        CompletableFuture<ByteBuffer> send(final ByteBuffer body) {
+            final long id = nextId.getAndIncrement();
+            CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+            pending.put(id, result);
+
+            ByteBuffer header = ByteBuffer.allocate(ID_SIZE);
+            header.putLong(id);
+            header.flip();
+
+            try {
+                // frames of concurrent requests must not interleave
+                synchronized (this) {
+                    protocol.writeFrame(new ByteBuffer[]{header, body}, 0, 2);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return result;
+            }
+
+            ScheduledFuture<?> timeout = pool.getConnector().getScheduler().schedule(() -> {
+                CompletableFuture<ByteBuffer> timedOut = pending.remove(id);
+                if (timedOut != null) {
+                    timedOut.completeExceptionally(new SocketTimeoutException("request timed out - " + con));
+                }
+            }, requestTimeout, TimeUnit.MILLISECONDS);
+            result.whenComplete((response, e) -> timeout.cancel(false));
+
+            return result;
+        }
+
+        /**
+         * reads every received response (on SelectThread)
+         */
+        void onReadable(final ClientConnection connection) {
+            try {
+                ByteBuffer frame;
+                while ((frame = protocol.readFrame(connection.getReadBuffer())) != null) {
+                    if (frame.remaining() < ID_SIZE) {
+                        throw new ProtocolException("frame without correlation id");
+                    }
+
+                    long id = frame.getLong();
+                    ByteBuffer response = ByteBuffer.allocate(frame.remaining());
+                    response.put(frame);
+                    response.flip();
+
+                    CompletableFuture<ByteBuffer> future = pending.remove(id);
+                    if (Validator.isNotNull(future)) {
+                        future.complete(response);
+                    } else {
+                        LOGGER.debug(this, "response to unknown (or timed out) request - " + id);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * closes this channel & fails every outstanding request
+         */
+        void fail(final Throwable cause) {
+            if (failed.compareAndSet(false, true)) {
+                pool.invalidate(con);
+            }
+
+            for (Long id : pending.keySet()) {
+                CompletableFuture<ByteBuffer> future = pending.remove(id);
+                if (future != null) {
+                    future.completeExceptionally(cause);
+                }
+            }
+        }
+    }
+}
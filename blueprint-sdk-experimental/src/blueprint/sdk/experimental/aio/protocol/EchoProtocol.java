@@ -41,14 +41,15 @@ public class EchoProtocol extends Protocol {
             int nRead = wrapper.read(buffer);
             if (nRead == -1) {
                 throw new EOFException("nothing but EOF is received");
-            } else if (nRead == 0) {
-                readSelectorLB.register(wrapper, SelectionKey.OP_READ);
             } else if (nRead > 0) {
                 buffer.flip();
                 result = new byte[buffer.limit()];
                 buffer.get(result);
                 buffer.clear();
             }
+
+            // resume reading
+            readSelectorLB.register(wrapper, SelectionKey.OP_READ);
         }
 
         return result == null ? new byte[0] : result;
@@ -0,0 +1,224 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HTTP/1.x request parsed by HttpRequestParser.<br>
+ * <br>
+ * Holds offsets only, every element is read from the session's buffer on demand.<br>
+ * <b>Valid until next parse, as the buffer is compacted and reused.</b><br>
+ * Chunked bodies are decoded in place, so getBody() is contiguous either way.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class HttpRequest {
+    /**
+     * buffer which holds this request
+     */
+    transient ByteBuffer buffer;
+    /**
+     * index of first byte of this request in buffer (every other offset is relative to it)
+     */
+    int base;
+
+    int methodStart;
+    int methodEnd;
+    int uriStart;
+    int uriEnd;
+    int minorVersion;
+
+    /**
+     * nameStart, nameEnd, valueStart, valueEnd of each header
+     */
+    final int[] headers;
+    int headerCount;
+
+    /**
+     * -1: no Content-Length
+     */
+    long contentLength;
+    boolean chunked;
+    boolean keepAlive;
+
+    int bodyStart;
+    int bodyLength;
+    /**
+     * end of this request (includes chunk framing & trailers)
+     */
+    int end;
+
+    HttpRequest(final int maxHeaders) {
+        headers = new int[maxHeaders * 4];
+        reset();
+    }
+
+    void reset() {
+        methodStart = methodEnd = 0;
+        uriStart = uriEnd = 0;
+        minorVersion = 0;
+        headerCount = 0;
+        contentLength = -1;
+        chunked = false;
+        keepAlive = false;
+        bodyStart = bodyLength = 0;
+        end = 0;
+    }
+
+    /**
+     * @return request method
+     */
+    public String getMethod() {
+        return toString(methodStart, methodEnd);
+    }
+
+    /**
+     * compares method without allocation
+     *
+     * @param method method to compare (case-sensitive)
+     * @return true: same method
+     */
+    public boolean isMethod(final String method) {
+        return equals(methodStart, methodEnd, method, false);
+    }
+
+    /**
+     * @return request target
+     */
+    public String getUri() {
+        return toString(uriStart, uriEnd);
+    }
+
+    /**
+     * @return 0 for HTTP/1.0, 1 for HTTP/1.1
+     */
+    public int getMinorVersion() {
+        return minorVersion;
+    }
+
+    public int getHeaderCount() {
+        return headerCount;
+    }
+
+    public String getHeaderName(final int index) {
+        return toString(headers[index * 4], headers[index * 4 + 1]);
+    }
+
+    public String getHeaderValue(final int index) {
+        return toString(headers[index * 4 + 2], headers[index * 4 + 3]);
+    }
+
+    /**
+     * finds a header without allocation
+     *
+     * @param name header name (case-insensitive)
+     * @return index of first matching header (-1: not found)
+     */
+    public int indexOfHeader(final String name) {
+        for (int i = 0; i < headerCount; i++) {
+            if (equals(headers[i * 4], headers[i * 4 + 1], name, true)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param name header name (case-insensitive)
+     * @return value of first matching header (null: not found)
+     */
+    public String getHeader(final String name) {
+        int index = indexOfHeader(name);
+        return index < 0 ? null : getHeaderValue(index);
+    }
+
+    /**
+     * @return value of Content-Length (-1: not present)
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    /**
+     * @return true: connection should be kept after response
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * @return length of (decoded) body
+     */
+    public int getBodyLength() {
+        return bodyLength;
+    }
+
+    /**
+     * @return read-only view of (decoded) body
+     */
+    public ByteBuffer getBody() {
+        ByteBuffer result = buffer.duplicate();
+        result.limit(base + bodyStart + bodyLength);
+        result.position(base + bodyStart);
+        return result.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return number of bytes this request occupied in buffer
+     */
+    public int getLength() {
+        return end;
+    }
+
+    private String toString(final int start, final int end) {
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (buffer.get(base + start + i) & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * compares bytes in buffer with an ASCII string
+     */
+    boolean equals(final int start, final int end, final String value, final boolean ignoreCase) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            int b = buffer.get(base + start + i) & 0xff;
+            int c = value.charAt(i);
+            if (b != c && (!ignoreCase || toLower(b) != toLower(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int toLower(final int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    @Override
+    public String toString() {
+        return getMethod() + " " + getUri() + " HTTP/1." + minorVersion;
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental HTTP/1.x request parser.<br>
+ * <br>
+ * Parses request line, headers and body (Content-Length or chunked) directly over a ByteBuffer,
+ * resuming where it stopped when more bytes arrive. No allocation per request.<br>
+ * Every offset is relative to the request's first byte, so the buffer can be compacted or
+ * replaced with a larger copy between calls (see InboundBuffer).<br>
+ * <br>
+ * Usage:<br>
+ * Receive bytes and call parse(buffer, offset, limit) until it returns true.<br>
+ * Handle getRequest(), consume getRequest().getLength() bytes, then call next().<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class HttpRequestParser {
+    private static final int REQUEST_LINE = 0;
+    private static final int HEADERS = 1;
+    private static final int BODY = 2;
+    private static final int CHUNK_SIZE = 3;
+    private static final int CHUNK_DATA = 4;
+    private static final int TRAILER = 5;
+    private static final int DONE = 6;
+
+    private static final byte CR = 0x0d;
+    private static final byte LF = 0x0a;
+    private static final byte SP = 0x20;
+    private static final byte HT = 0x09;
+
+    private transient final HttpRequest request;
+    /**
+     * max size of a request in byte (headers & encoded body)
+     */
+    private final int maxRequestSize;
+
+    private int state = REQUEST_LINE;
+    /**
+     * where to resume scanning (relative to base)
+     */
+    private int scan = 0;
+    /**
+     * start of current line (relative to base)
+     */
+    private int lineStart = 0;
+    /**
+     * size of current chunk
+     */
+    private int chunkSize = 0;
+
+    public HttpRequestParser() {
+        this(64, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxHeaders     max number of headers per request
+     * @param maxRequestSize max size of a request in byte (headers & encoded body)
+     */
+    public HttpRequestParser(final int maxHeaders, final int maxRequestSize) {
+        request = new HttpRequest(maxHeaders);
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * Parses received bytes of current request
+     *
+     * @param buffer buffer to parse (position & limit are not changed)
+     * @param offset index of current request's first byte
+     * @param limit  end of received bytes in buffer
+     * @return true: a request is complete (see getRequest())
+     * @throws ProtocolException malformed or too large request
+     */
+    public boolean parse(final ByteBuffer buffer, final int offset, final int limit) throws ProtocolException {
+        request.buffer = buffer;
+        request.base = offset;
+        int end = limit - offset;
+
+        while (state != DONE) {
+            if (state == BODY) {
+                if (end - request.bodyStart < request.contentLength) {
+                    return false;
+                }
+                request.bodyLength = (int) request.contentLength;
+                finish(request.bodyStart + request.bodyLength);
+            } else if (state == CHUNK_DATA) {
+                if (!chunkData(buffer, end)) {
+                    return false;
+                }
+            } else {
+                int lf = indexOfLf(buffer, end);
+                if (lf < 0) {
+                    return false;
+                }
+
+                int start = lineStart;
+                int lineEnd = lf > start && get(buffer, lf - 1) == CR ? lf - 1 : lf;
+                lineStart = scan = lf + 1;
+
+                if (state == REQUEST_LINE) {
+                    requestLine(buffer, start, lineEnd);
+                } else if (state == HEADERS) {
+                    header(buffer, start, lineEnd);
+                } else if (state == CHUNK_SIZE) {
+                    chunkSize(buffer, start, lineEnd);
+                } else if (start == lineEnd) {
+                    // end of trailers (trailer fields are ignored)
+                    finish(lineStart);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return parsed request (null: not complete yet)
+     */
+    public HttpRequest getRequest() {
+        return state == DONE ? request : null;
+    }
+
+    /**
+     * Starts parsing next request
+     */
+    public void next() {
+        reset();
+    }
+
+    private void reset() {
+        state = REQUEST_LINE;
+        scan = 0;
+        lineStart = 0;
+        chunkSize = 0;
+        request.reset();
+    }
+
+    private void finish(final int end) {
+        request.end = end;
+        state = DONE;
+    }
+
+    private byte get(final ByteBuffer buffer, final int index) {
+        return buffer.get(request.base + index);
+    }
+
+    private int indexOfLf(final ByteBuffer buffer, final int end) {
+        for (int i = scan; i < end; i++) {
+            if (get(buffer, i) == LF) {
+                return i;
+            }
+        }
+        scan = end;
+        return -1;
+    }
+
+    private int indexOf(final ByteBuffer buffer, final int start, final int end, final byte b) {
+        for (int i = start; i < end; i++) {
+            if (get(buffer, i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void requestLine(final ByteBuffer buffer, final int start, final int end) throws ProtocolException {
+        if (start == end) {
+            // empty lines before request line are allowed
+            return;
+        }
+
+        int sp1 = indexOf(buffer, start, end, SP);
+        int sp2 = sp1 < 0 ? -1 : indexOf(buffer, sp1 + 1, end, SP);
+        if (sp1 <= start || sp2 <= sp1 + 1) {
+            throw new ProtocolException("malformed request line");
+        }
+
+        // HTTP/1.x
+        if (end - (sp2 + 1) != 8 || !request.equals(sp2 + 1, sp2 + 8, "HTTP/1.", false)) {
+            throw new ProtocolException("unsupported HTTP version");
+        }
+        int minor = get(buffer, end - 1) - '0';
+        if (minor < 0 || minor > 9) {
+            throw new ProtocolException("unsupported HTTP version");
+        }
+
+        request.methodStart = start;
+        request.methodEnd = sp1;
+        request.uriStart = sp1 + 1;
+        request.uriEnd = sp2;
+        request.minorVersion = minor;
+        request.keepAlive = minor >= 1;
+
+        state = HEADERS;
+    }
+
+    private void header(final ByteBuffer buffer, final int start, final int end) throws ProtocolException {
+        if (start == end) {
+            // end of headers
+            request.bodyStart = lineStart;
+            if (request.chunked && request.contentLength >= 0) {
+                // ambiguous framing (request smuggling)
+                throw new ProtocolException("both Content-Length and Transfer-Encoding are present");
+            }
+            if (request.chunked) {
+                state = CHUNK_SIZE;
+            } else if (request.contentLength > 0) {
+                if (lineStart + request.contentLength > maxRequestSize) {
+                    throw new ProtocolException("request is too large");
+                }
+                state = BODY;
+            } else {
+                finish(lineStart);
+            }
+            return;
+        }
+
+        byte first = get(buffer, start);
+        if (first == SP || first == HT) {
+            throw new ProtocolException("obsolete line folding is not supported");
+        }
+
+        int colon = indexOf(buffer, start, end, (byte) ':');
+        if (colon <= start) {
+            throw new ProtocolException("malformed header");
+        }
+
+        int valueStart = colon + 1;
+        while (valueStart < end && isOws(get(buffer, valueStart))) {
+            valueStart++;
+        }
+        int valueEnd = end;
+        while (valueEnd > valueStart && isOws(get(buffer, valueEnd - 1))) {
+            valueEnd--;
+        }
+
+        int count = request.headerCount;
+        if ((count + 1) * 4 > request.headers.length) {
+            throw new ProtocolException("too many headers");
+        }
+        int[] headers = request.headers;
+        headers[count * 4] = start;
+        headers[count * 4 + 1] = colon;
+        headers[count * 4 + 2] = valueStart;
+        headers[count * 4 + 3] = valueEnd;
+        request.headerCount = count + 1;
+
+        if (request.equals(start, colon, "Content-Length", true)) {
+            long length = parseDecimal(buffer, valueStart, valueEnd);
+            if (request.contentLength >= 0 && request.contentLength != length) {
+                throw new ProtocolException("conflicting Content-Length");
+            }
+            request.contentLength = length;
+        } else if (request.equals(start, colon, "Transfer-Encoding", true)) {
+            // chunked must be the last encoding
+            if (!endsWithIgnoreCase(valueStart, valueEnd, "chunked")) {
+                throw new ProtocolException("unsupported Transfer-Encoding");
+            }
+            request.chunked = true;
+        } else if (request.equals(start, colon, "Connection", true)) {
+            connection(buffer, valueStart, valueEnd);
+        }
+    }
+
+    private void connection(final ByteBuffer buffer, final int start, final int end) {
+        int tokenStart = start;
+        while (tokenStart < end) {
+            int comma = indexOf(buffer, tokenStart, end, (byte) ',');
+            int tokenEnd = comma < 0 ? end : comma;
+
+            int s = tokenStart;
+            int e = tokenEnd;
+            while (s < e && isOws(get(buffer, s))) {
+                s++;
+            }
+            while (e > s && isOws(get(buffer, e - 1))) {
+                e--;
+            }
+
+            if (request.equals(s, e, "close", true)) {
+                request.keepAlive = false;
+            } else if (request.equals(s, e, "keep-alive", true)) {
+                request.keepAlive = true;
+            }
+
+            tokenStart = tokenEnd + 1;
+        }
+    }
+
+    private void chunkSize(final ByteBuffer buffer, final int start, final int end) throws ProtocolException {
+        int size = 0;
+        int i = start;
+        for (; i < end; i++) {
+            int digit = Character.digit(get(buffer, i), 16);
+            if (digit < 0) {
+                break;
+            }
+            if (size > (Integer.MAX_VALUE >> 4)) {
+                throw new ProtocolException("chunk is too large");
+            }
+            size = (size << 4) | digit;
+        }
+        // chunk extensions are ignored
+        if (i == start || (i < end && get(buffer, i) != ';' && !isOws(get(buffer, i)))) {
+            throw new ProtocolException("malformed chunk size");
+        }
+
+        if (size == 0) {
+            state = TRAILER;
+        } else {
+            // can't overflow as long
+            if ((long) scan + size > maxRequestSize) {
+                throw new ProtocolException("request is too large");
+            }
+            chunkSize = size;
+            state = CHUNK_DATA;
+        }
+    }
+
+    /**
+     * moves chunk data right after previous chunks' data (decodes in place)
+     *
+     * @return false: need more bytes
+     */
+    private boolean chunkData(final ByteBuffer buffer, final int end) throws ProtocolException {
+        int dataEnd = scan + chunkSize;
+        if (end <= dataEnd) {
+            return false;
+        }
+
+        int next;
+        if (get(buffer, dataEnd) == LF) {
+            next = dataEnd + 1;
+        } else if (end <= dataEnd + 1) {
+            return false;
+        } else if (get(buffer, dataEnd) == CR && get(buffer, dataEnd + 1) == LF) {
+            next = dataEnd + 2;
+        } else {
+            throw new ProtocolException("malformed chunk");
+        }
+
+        int dst = request.bodyStart + request.bodyLength;
+        if (dst != scan) {
+            for (int i = 0; i < chunkSize; i++) {
+                buffer.put(request.base + dst + i, get(buffer, scan + i));
+            }
+        }
+        request.bodyLength += chunkSize;
+
+        lineStart = scan = next;
+        state = CHUNK_SIZE;
+        return true;
+    }
+
+    private long parseDecimal(final ByteBuffer buffer, final int start, final int end) throws ProtocolException {
+        if (start == end || end - start > 18) {
+            throw new ProtocolException("malformed Content-Length");
+        }
+
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = get(buffer, i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new ProtocolException("malformed Content-Length");
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private boolean endsWithIgnoreCase(final int start, final int end, final String suffix) {
+        return end - start >= suffix.length() && request.equals(end - suffix.length(), end, suffix, true);
+    }
+
+    private static boolean isOws(final byte b) {
+        return b == SP || b == HT;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import blueprint.sdk.experimental.aio.SocketChannelWrapper;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * Cumulative inbound buffer for Protocol implementations.<br>
+ * <br>
+ * Bytes between readIndex and buffer's position are received but not consumed yet.<br>
+ * Messages are assembled in session's read buffer. If a message doesn't fit, a larger heap buffer
+ * (up to maxCapacity) takes over until the message is consumed, then it's dropped and
+ * session's read buffer is used again. So read buffers can be sized for typical messages
+ * instead of the largest one.<br>
+ * Consumed bytes are compacted only when more room is needed.<br>
+ * <br>
+ * Session's read buffer stays empty (position 0) while nothing is left to consume,
+ * so lazily attached read buffers can go back to BufferPool.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class InboundBuffer {
+    /**
+     * max bytes to hold (max message size)
+     */
+    private final int maxCapacity;
+
+    /**
+     * session's read buffer
+     */
+    private transient ByteBuffer readBuffer = null;
+    /**
+     * larger buffer for a message which doesn't fit in readBuffer (null: not grown)
+     */
+    private transient ByteBuffer grown = null;
+    /**
+     * index of first unconsumed byte
+     */
+    private transient int readIndex = 0;
+    /**
+     * true: last read didn't fill the buffer, so the socket has nothing more to read
+     */
+    private transient boolean drained = false;
+
+    /**
+     * Constructor
+     *
+     * @param maxCapacity max bytes to hold (max message size)
+     */
+    public InboundBuffer(final int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Sets session's read buffer (could be a different one for every process() in lazy mode)
+     *
+     * @param readBuffer session's read buffer in write mode
+     * @return buffer to use
+     */
+    public ByteBuffer attach(final ByteBuffer readBuffer) {
+        this.readBuffer = readBuffer;
+        return getBuffer();
+    }
+
+    /**
+     * @return buffer which holds received bytes (in write mode)
+     */
+    public ByteBuffer getBuffer() {
+        return grown == null ? readBuffer : grown;
+    }
+
+    /**
+     * @return index of first unconsumed byte
+     */
+    public int getReadIndex() {
+        return readIndex;
+    }
+
+    /**
+     * @return index next received byte goes to
+     */
+    public int getWriteIndex() {
+        return getBuffer().position();
+    }
+
+    /**
+     * @return number of unconsumed bytes
+     */
+    public int getReadableBytes() {
+        return getBuffer().position() - readIndex;
+    }
+
+    /**
+     * @return current capacity
+     */
+    public int getCapacity() {
+        return getBuffer().capacity();
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Marks bytes as consumed. Buffer is cleared (and shrunk back) once everything is consumed.
+     *
+     * @param length number of bytes consumed
+     */
+    public void consume(final int length) {
+        if (length < 0 || length > getReadableBytes()) {
+            throw new IndexOutOfBoundsException("can't consume " + length + " bytes of " + getReadableBytes());
+        }
+
+        readIndex += length;
+        if (readIndex == getBuffer().position()) {
+            getBuffer().clear();
+            readIndex = 0;
+            grown = null;
+        }
+    }
+
+    /**
+     * Moves unconsumed bytes to the beginning of buffer.<br>
+     * Goes back to session's read buffer if they fit in it.<br>
+     */
+    public void compact() {
+        ByteBuffer src = getBuffer();
+        int readable = src.position() - readIndex;
+
+        if (grown != null && readable < readBuffer.capacity()) {
+            // shrink back
+            src.limit(src.position());
+            src.position(readIndex);
+            readBuffer.clear();
+            readBuffer.put(src);
+            grown = null;
+        } else if (readIndex > 0) {
+            src.limit(src.position());
+            src.position(readIndex);
+            src.compact();
+        }
+        readIndex = 0;
+    }
+
+    /**
+     * Makes room for given bytes, by compaction first and then by growing.
+     *
+     * @param length number of bytes to receive
+     * @throws ProtocolException can't hold more than maxCapacity
+     */
+    public void ensureWritable(final int length) throws ProtocolException {
+        if (getBuffer().remaining() >= length) {
+            return;
+        }
+
+        compact();
+        ByteBuffer buffer = getBuffer();
+        if (buffer.remaining() >= length) {
+            return;
+        }
+
+        long required = (long) buffer.position() + length;
+        if (required > maxCapacity) {
+            throw new ProtocolException("message is larger than " + maxCapacity + " bytes");
+        }
+        int capacity = (int) Math.max(required, Math.min(maxCapacity, (long) buffer.capacity() * 2));
+
+        ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        bigger.put(buffer);
+        // session's read buffer is empty from now on
+        readBuffer.clear();
+        grown = bigger;
+    }
+
+    /**
+     * Receives as many bytes as possible (grows if buffer is full)
+     *
+     * @param wrapper channel to read
+     * @return number of bytes read (-1: EOF)
+     * @throws IOException Failed to read or can't hold more than maxCapacity
+     */
+    public int read(final SocketChannelWrapper wrapper) throws IOException {
+        ensureWritable(1);
+
+        ByteBuffer buffer = getBuffer();
+        int space = buffer.remaining();
+        int result = wrapper.read(buffer);
+        drained = result < space;
+        return result;
+    }
+
+    /**
+     * @return true: last read didn't fill the buffer
+     */
+    public boolean isDrained() {
+        return drained;
+    }
+
+    public void setDrained(final boolean drained) {
+        this.drained = drained;
+    }
+
+    /**
+     * @return true: a larger buffer holds a message which doesn't fit in session's read buffer
+     */
+    public boolean isGrown() {
+        return grown != null;
+    }
+}
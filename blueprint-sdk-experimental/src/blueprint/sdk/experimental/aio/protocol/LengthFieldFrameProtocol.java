@@ -0,0 +1,293 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
+import blueprint.sdk.experimental.aio.SocketChannelWrapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+
+/**
+ * Length-prefixed binary framing.<br>
+ * <br>
+ * Each frame is a 1, 2, 4 or 8 byte unsigned length field followed by that many bytes of payload.<br>
+ * Call readFrame() until it returns null. Each returned payload is a read-only slice of the
+ * session's buffer (no copy), valid until next call.<br>
+ * Frames larger than read buffer are assembled in a larger buffer (see InboundBuffer).<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class LengthFieldFrameProtocol extends Protocol {
+    /**
+     * default max payload size in byte
+     */
+    public static final long DEFAULT_MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    /**
+     * max bytes reserved ahead of received ones, so that a declared length alone can't allocate
+     * up to maxFrameSize
+     */
+    private static final int RESERVE_STEP = 64 * 1024;
+
+    /**
+     * size of length field in byte (1, 2, 4 or 8)
+     */
+    private final int lengthFieldSize;
+    private final ByteOrder order;
+    /**
+     * max payload size in byte
+     */
+    private final long maxFrameSize;
+
+    private transient final InboundBuffer inbound;
+    /**
+     * length of frame returned by last readFrame (consumed on next call)
+     */
+    private transient int returned = 0;
+    /**
+     * read-only view of last buffer (frames are sliced from it)
+     */
+    private transient ByteBuffer view = null;
+    private transient ByteBuffer viewSource = null;
+
+    /**
+     * Constructor for 4 byte big endian length field
+     *
+     * @param wrapper    channel wrapper to use
+     * @param selectorLB SelectorLoadBalancer for OP_READ
+     */
+    public LengthFieldFrameProtocol(final SocketChannelWrapper wrapper, final SelectorLoadBalancer selectorLB) {
+        this(wrapper, selectorLB, 4);
+    }
+
+    /**
+     * Constructor for big endian length field
+     *
+     * @param wrapper         channel wrapper to use
+     * @param selectorLB      SelectorLoadBalancer for OP_READ
+     * @param lengthFieldSize size of length field in byte (1, 2, 4 or 8)
+     */
+    public LengthFieldFrameProtocol(final SocketChannelWrapper wrapper, final SelectorLoadBalancer selectorLB,
+                                    final int lengthFieldSize) {
+        this(wrapper, selectorLB, lengthFieldSize, ByteOrder.BIG_ENDIAN, DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param wrapper         channel wrapper to use
+     * @param selectorLB      SelectorLoadBalancer for OP_READ
+     * @param lengthFieldSize size of length field in byte (1, 2, 4 or 8)
+     * @param order           byte order of length field
+     * @param maxFrameSize    max payload size in byte
+     */
+    public LengthFieldFrameProtocol(final SocketChannelWrapper wrapper, final SelectorLoadBalancer selectorLB,
+                                    final int lengthFieldSize, final ByteOrder order, final long maxFrameSize) {
+        super(wrapper, selectorLB);
+
+        if (lengthFieldSize != 1 && lengthFieldSize != 2 && lengthFieldSize != 4 && lengthFieldSize != 8) {
+            throw new IllegalArgumentException("lengthFieldSize must be 1, 2, 4 or 8");
+        }
+        if (maxFrameSize < 0) {
+            throw new IllegalArgumentException("maxFrameSize must not be negative");
+        }
+
+        this.lengthFieldSize = lengthFieldSize;
+        this.order = order;
+        this.maxFrameSize = maxFrameSize;
+
+        inbound = new InboundBuffer((int) Math.min(lengthFieldSize + maxFrameSize, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Returns payload of next complete frame, reading from channel only if needed.<br>
+     * Previously returned frame is discarded.<br>
+     *
+     * @param buffer session's read buffer (in write mode)
+     * @return read-only payload (null: need more bytes, reading is resumed)
+     * @throws EOFException      EOF is received
+     * @throws ProtocolException frame is too large
+     * @throws IOException       Failed to read
+     */
+    public ByteBuffer readFrame(final ByteBuffer buffer) throws IOException {
+        if (!wrapper.isValid()) {
+            return null;
+        }
+
+        inbound.attach(buffer);
+        inbound.consume(returned);
+        returned = 0;
+
+        while (true) {
+            int available = inbound.getReadableBytes();
+            if (available >= lengthFieldSize) {
+                ByteBuffer current = inbound.getBuffer();
+                int base = inbound.getReadIndex();
+                long length = getLength(current, base);
+                if (length > maxFrameSize) {
+                    throw new ProtocolException("frame is larger than " + maxFrameSize + " bytes");
+                }
+
+                if (available >= lengthFieldSize + length) {
+                    returned = lengthFieldSize + (int) length;
+                    return slice(current, base + lengthFieldSize, (int) length);
+                }
+
+                // grow as payload arrives, not by what the peer claims
+                inbound.ensureWritable((int) Math.min(lengthFieldSize + length - available, RESERVE_STEP));
+            }
+
+            if (!fill(inbound)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * returns a copy of next frame's payload
+     *
+     * @param buffer buffer to use
+     * @return null or received byte[]
+     * @throws IOException
+     */
+    @Override
+    public byte[] read(final ByteBuffer buffer) throws IOException {
+        byte[] result = null;
+
+        ByteBuffer frame = readFrame(buffer);
+        if (frame != null) {
+            result = new byte[frame.remaining()];
+            frame.get(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * sends given data as a frame
+     *
+     * @param buffer payload to send
+     * @throws IOException
+     */
+    @Override
+    public void write(final ByteBuffer buffer) throws IOException {
+        wrapper.writeAll(new ByteBuffer[]{newHeader(buffer.remaining()), buffer}, 0, 2);
+    }
+
+    /**
+     * sends each buffer as a frame, with a single gathering write
+     *
+     * @param buffers payloads to send
+     * @param offset  offset of first buffer
+     * @param length  number of buffers
+     * @throws IOException
+     */
+    @Override
+    public void write(final ByteBuffer[] buffers, final int offset, final int length) throws IOException {
+        ByteBuffer[] frames = new ByteBuffer[length * 2];
+        for (int i = 0; i < length; i++) {
+            ByteBuffer payload = buffers[offset + i];
+            frames[i * 2] = newHeader(payload.remaining());
+            frames[i * 2 + 1] = payload;
+        }
+        wrapper.writeAll(frames, 0, frames.length);
+    }
+
+    /**
+     * sends given buffers as a single frame, with a single gathering write
+     *
+     * @param parts  parts of payload
+     * @param offset offset of first part
+     * @param length number of parts
+     * @throws IOException
+     */
+    public void writeFrame(final ByteBuffer[] parts, final int offset, final int length) throws IOException {
+        long size = 0;
+        ByteBuffer[] frame = new ByteBuffer[length + 1];
+        for (int i = 0; i < length; i++) {
+            frame[i + 1] = parts[offset + i];
+            size += parts[offset + i].remaining();
+        }
+        frame[0] = newHeader(size);
+        wrapper.writeAll(frame, 0, frame.length);
+    }
+
+    private ByteBuffer newHeader(final long length) throws ProtocolException {
+        if (length > maxFrameSize || (lengthFieldSize < 8 && length >= (1L << (lengthFieldSize * 8)))) {
+            throw new ProtocolException("frame is too large - " + length);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(lengthFieldSize).order(order);
+        switch (lengthFieldSize) {
+            case 1:
+                header.put((byte) length);
+                break;
+            case 2:
+                header.putShort((short) length);
+                break;
+            case 4:
+                header.putInt((int) length);
+                break;
+            default:
+                header.putLong(length);
+                break;
+        }
+        header.flip();
+        return header;
+    }
+
+    /**
+     * reads unsigned length field without changing buffer's byte order
+     */
+    private long getLength(final ByteBuffer buffer, final int index) throws ProtocolException {
+        long result = 0;
+        for (int i = 0; i < lengthFieldSize; i++) {
+            int shift = order == ByteOrder.BIG_ENDIAN ? (lengthFieldSize - 1 - i) * 8 : i * 8;
+            result |= (buffer.get(index + i) & 0xffL) << shift;
+        }
+        if (result < 0) {
+            throw new ProtocolException("negative frame length");
+        }
+        return result;
+    }
+
+    private ByteBuffer slice(final ByteBuffer buffer, final int index, final int length) {
+        if (viewSource != buffer) {
+            view = buffer.asReadOnlyBuffer();
+            viewSource = buffer;
+        }
+
+        view.limit(index + length);
+        view.position(index);
+        return view.slice();
+    }
+
+    public int getLengthFieldSize() {
+        return lengthFieldSize;
+    }
+
+    public ByteOrder getOrder() {
+        return order;
+    }
+
+    public long getMaxFrameSize() {
+        return maxFrameSize;
+    }
+}
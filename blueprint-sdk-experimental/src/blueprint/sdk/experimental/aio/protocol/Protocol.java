@@ -13,19 +13,24 @@
 
 package blueprint.sdk.experimental.aio.protocol;
 
+import blueprint.sdk.experimental.aio.FileRegion;
 import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
 import blueprint.sdk.experimental.aio.SocketChannelWrapper;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
 
 
 /**
  * Provides basic functions and guidelines for Protocol implementation.<br>
  * <br>
  * Guide line:<br>
- * Use readSelectorLB.register(SocketChannelWrapper, int) for read operation.<br>
+ * Reading is paused whenever a channel becomes readable.<br>
+ * Call readSelectorLB.register(SocketChannelWrapper, OP_READ) after each read to resume it.<br>
  * Check wrapper.isValid() before every read/write operations.<br>
+ * Protocols with message boundaries can assemble messages with InboundBuffer & fill().<br>
  *
  * @author Sangmin Lee
  * @since 2008. 12. 12.
@@ -65,6 +70,77 @@ public abstract class Protocol {
      */
     public abstract void write(final ByteBuffer buffer) throws IOException;
 
+    /**
+     * send data with a gathering write<br>
+     * Override if each buffer needs framing.<br>
+     *
+     * @param buffers data to send
+     * @param offset  offset of first buffer
+     * @param length  number of buffers
+     * @throws java.io.IOException
+     */
+    public void write(final ByteBuffer[] buffers, final int offset, final int length) throws IOException {
+        wrapper.writeAll(buffers, offset, length);
+    }
+
+    /**
+     * send header, file region and trailer in order<br>
+     * File region is sent with FileChannel.transferTo (zero-copy).<br>
+     * region is released if it can't be queued (e.g. header is failed).<br>
+     *
+     * @param header  data to send before file (nullable)
+     * @param region  file region to send
+     * @param trailer data to send after file (nullable)
+     * @throws java.io.IOException
+     */
+    public void writeFile(final ByteBuffer header, final FileRegion region, final ByteBuffer trailer)
+            throws IOException {
+        if (header != null) {
+            try {
+                write(header);
+            } catch (IOException | RuntimeException e) {
+                region.release();
+                throw e;
+            }
+        }
+        wrapper.write(region);
+        if (trailer != null) {
+            write(trailer);
+        }
+    }
+
+    /**
+     * Receives more bytes into given inbound buffer, unless the socket is drained.<br>
+     * If it's drained, reading is resumed so that process() is called again on next bytes.<br>
+     * Nothing is read while reading is paused by backpressure. Wrapper resumes reading once
+     * its outbound queue drains.<br>
+     *
+     * @param inbound buffer to fill
+     * @return false: nothing more to read for now, reading is resumed (or paused)
+     * @throws EOFException EOF is received
+     * @throws IOException  Failed to read or message is too large
+     */
+    protected boolean fill(final InboundBuffer inbound) throws IOException {
+        if (wrapper.isReadPaused()) {
+            // read on next OP_READ, which is armed by resume
+            inbound.setDrained(false);
+            return false;
+        }
+
+        if (inbound.isDrained()) {
+            inbound.setDrained(false);
+
+            // resume reading
+            readSelectorLB.register(wrapper, SelectionKey.OP_READ);
+            return false;
+        }
+
+        if (inbound.read(wrapper) == -1) {
+            throw new EOFException("nothing but EOF is received");
+        }
+        return true;
+    }
+
     protected SocketChannelWrapper getWrapper() {
         return wrapper;
     }
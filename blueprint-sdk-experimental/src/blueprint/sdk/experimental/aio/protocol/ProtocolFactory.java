@@ -0,0 +1,33 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
+import blueprint.sdk.experimental.aio.SocketChannelWrapper;
+
+/**
+ * Creates a Protocol for a channel (e.g. LengthFieldFrameProtocol::new)
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@FunctionalInterface
+public interface ProtocolFactory {
+    /**
+     * @param wrapper        channel wrapper to use
+     * @param readSelectorLB SelectorLoadBalancer for OP_READ
+     * @return new Protocol
+     */
+    Protocol newProtocol(SocketChannelWrapper wrapper, SelectorLoadBalancer readSelectorLB);
+}
@@ -18,79 +18,100 @@ import blueprint.sdk.experimental.aio.SocketChannelWrapper;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.net.ProtocolException;
 import java.nio.ByteBuffer;
-import java.nio.channels.SelectionKey;
 
 
 /**
- * Simple HTTP Protocol Implementation
+ * Simple HTTP/1.x Protocol Implementation<br>
+ * <br>
+ * Supports keep-alive and pipelining. Call readRequest() until it returns null, and each
+ * returned request is valid until next call.<br>
+ * Reading is resumed only when no complete request is left in buffer.<br>
+ * Requests larger than read buffer are assembled in a larger buffer, up to maxRequestSize.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 12. 12.
  */
 public class SimpleHttpProtocol extends Protocol {
+    /**
+     * default max size of a request in byte
+     */
+    public static final int DEFAULT_MAX_REQUEST_SIZE = 1024 * 1024;
+
+    private transient final HttpRequestParser parser;
+    private transient final InboundBuffer inbound;
+
     public SimpleHttpProtocol(final SocketChannelWrapper wrapper, final SelectorLoadBalancer readSelectorLB) {
-        super(wrapper, readSelectorLB);
+        this(wrapper, readSelectorLB, DEFAULT_MAX_REQUEST_SIZE);
     }
 
     /**
-     * Is end of header(two sequential new lines) received?
+     * Constructor
      *
-     * @param buffer buffer to use
-     * @return true : EOH is received
+     * @param wrapper        channel wrapper to use
+     * @param readSelectorLB SelectorLoadBalancer for OP_READ
+     * @param maxRequestSize max size of a request in byte
      */
-    private static boolean isEohReceived(final ByteBuffer buffer) {
-        int position = buffer.position();
-        int eofLen = getEohLength(position);
-
-        // get last 2 or 4 bytes
-        byte[] data = new byte[eofLen];
-        for (int i = 0; i < eofLen; i++) {
-            data[i] = buffer.get(position - eofLen + i);
-        }
+    public SimpleHttpProtocol(final SocketChannelWrapper wrapper, final SelectorLoadBalancer readSelectorLB,
+                              final int maxRequestSize) {
+        super(wrapper, readSelectorLB);
 
-        return isEoh(eofLen, data);
+        parser = new HttpRequestParser(64, maxRequestSize);
+        inbound = new InboundBuffer(maxRequestSize);
     }
 
-    private static boolean isEoh(final int eofLen, final byte[] data) {
-        boolean result = false;
-        // check for two sequential new lines
-        if (eofLen >= 2 && data[eofLen - 2] == 0x0a && data[eofLen - 1] == 0x0a) {
-            result = true;
-        } else if (eofLen >= 4 && data[eofLen - 4] == 0x0d && data[eofLen - 3] == 0x0a && data[eofLen - 2] == 0x0d
-                && data[eofLen - 1] == 0x0a) {
-            result = true;
+    /**
+     * Returns next complete request, reading from channel only if needed.<br>
+     * Previously returned request is discarded.<br>
+     *
+     * @param buffer session's read buffer (in write mode)
+     * @return next request (null: need more bytes, reading is resumed)
+     * @throws EOFException      EOF is received
+     * @throws ProtocolException malformed or too large request
+     * @throws IOException       Failed to read
+     */
+    public HttpRequest readRequest(final ByteBuffer buffer) throws IOException {
+        if (!wrapper.isValid()) {
+            return null;
         }
-        return result;
-    }
 
-    private static int getEohLength(final int position) {
-        int process = 0;
-        if (position >= 4) {
-            process = 4;
-        } else if (position >= 2) {
-            process = 2;
+        inbound.attach(buffer);
+        HttpRequest previous = parser.getRequest();
+        if (previous != null) {
+            inbound.consume(previous.getLength());
+            parser.next();
         }
 
-        return process;
+        while (true) {
+            ByteBuffer current = inbound.getBuffer();
+            if (parser.parse(current, inbound.getReadIndex(), current.position())) {
+                return parser.getRequest();
+            }
+
+            if (!fill(inbound)) {
+                return null;
+            }
+        }
     }
 
+    /**
+     * returns a copy of next request (header & decoded body)
+     *
+     * @param buffer buffer to use
+     * @return null or received byte[]
+     * @throws IOException
+     */
     public byte[] read(final ByteBuffer buffer) throws IOException {
         byte[] result = null;
 
-        if (wrapper.isValid()) {
-            int nRead = wrapper.read(buffer);
-            if (nRead == -1) {
-                throw new EOFException("nothing but EOF is received");
-            } else if (nRead == 0) {
-                readSelectorLB.register(wrapper, SelectionKey.OP_READ);
-            } else if (nRead > 0 && isEohReceived(buffer)) {
-                buffer.flip();
-                result = new byte[buffer.limit()];
-                buffer.get(result);
-                buffer.clear();
-
-                // never read contents. this class is just for demo.
+        HttpRequest request = readRequest(buffer);
+        if (request != null) {
+            ByteBuffer current = inbound.getBuffer();
+            int start = inbound.getReadIndex();
+            result = new byte[request.bodyStart + request.bodyLength];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = current.get(start + i);
             }
         }
 
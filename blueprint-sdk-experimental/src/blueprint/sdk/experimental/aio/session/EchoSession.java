@@ -13,12 +13,12 @@
 
 package blueprint.sdk.experimental.aio.session;
 
+import blueprint.sdk.experimental.aio.BufferPool;
 import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
 import blueprint.sdk.experimental.aio.protocol.EchoProtocol;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -28,13 +28,27 @@ import java.util.concurrent.ConcurrentHashMap;
  * @since 2008. 12. 1.
  */
 public class EchoSession extends Session {
-    public EchoSession(final SocketChannel channel, final ConcurrentHashMap<Integer, Session> map,
+    public EchoSession(final SocketChannel channel, final SessionRegistry registry,
                        final Integer bufferSize, final SelectorLoadBalancer selectorLB) {
-        super(channel, map, bufferSize, selectorLB);
+        super(channel, registry, bufferSize, selectorLB);
 
         protocol = new EchoProtocol(wrapper, selectorLB);
     }
 
+    public EchoSession(final SocketChannel channel, final SessionRegistry registry,
+                       final BufferPool bufferPool, final SelectorLoadBalancer selectorLB) {
+        super(channel, registry, bufferPool, selectorLB);
+
+        protocol = new EchoProtocol(wrapper, selectorLB);
+    }
+
+    @Override
+    public void reset(final SocketChannel channel) {
+        super.reset(channel);
+
+        protocol = new EchoProtocol(wrapper, readSelectorLB);
+    }
+
     public void process() throws IOException {
         // read
         byte[] request = protocol.read(readBuffer);
@@ -13,6 +13,8 @@
 
 package blueprint.sdk.experimental.aio.session;
 
+import blueprint.sdk.experimental.aio.BufferPool;
+import blueprint.sdk.experimental.aio.FileRegion;
 import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
 import blueprint.sdk.experimental.aio.SocketChannelWrapper;
 import blueprint.sdk.experimental.aio.protocol.Protocol;
@@ -21,8 +23,12 @@ import blueprint.sdk.util.Validator;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SocketChannel;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Provides basic functions and guidelines for client session implementation.<br>
@@ -33,7 +39,17 @@ import java.util.concurrent.ConcurrentHashMap;
  * If 'Protocol.read()' returns -1, generally it means you gotta terminate
  * current session.<br>
  * If you are willing to override terminate() method, make sure to call
- * 'map.remove(this)'.<br>
+ * 'sessionRegistry.remove(getId())'.<br>
+ * <br>
+ * Dispatch:<br>
+ * A session works like an actor with a single-slot mailbox. Readable events are posted with
+ * schedule(), which returns true only if the session must be submitted to a worker. Events
+ * posted while process() runs are coalesced and handled by one more run, so that process() is
+ * never called concurrently and no event is lost.<br>
+ * terminate() may be called from any thread. Read buffer is returned to its pool only once the
+ * session leaves dispatch (by the worker if it's scheduled or running), so that a buffer is never
+ * shared with another session while process() still uses it. Recycler is called right after that,
+ * exactly once. A closed session can be bound to a new channel with reset(SocketChannel).<br>
  *
  * @author Sangmin Lee
  * @since 2008. 11. 27.
@@ -41,9 +57,13 @@ import java.util.concurrent.ConcurrentHashMap;
 @SuppressWarnings("WeakerAccess")
 public abstract class Session implements Terminatable {
     @SuppressWarnings("WeakerAccess")
-    protected final transient SocketChannelWrapper wrapper;
+    protected transient SocketChannelWrapper wrapper;
     @SuppressWarnings("WeakerAccess")
-    protected final ConcurrentHashMap<Integer, Session> sessionMap;
+    protected final SessionRegistry sessionRegistry;
+    /**
+     * id in sessionRegistry
+     */
+    private long id;
     @SuppressWarnings("WeakerAccess")
     protected final transient SelectorLoadBalancer readSelectorLB;
 
@@ -51,27 +71,115 @@ public abstract class Session implements Terminatable {
     protected Protocol protocol;
     @SuppressWarnings("WeakerAccess")
     protected ByteBuffer readBuffer;
+    /**
+     * pool of readBuffer (null: readBuffer is not pooled)
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected final transient BufferPool bufferPool;
+    /**
+     * size of readBuffer, if it's not pooled
+     */
+    private final int readBufferSize;
 
-    private transient boolean terminated = false;
+    /**
+     * true: readBuffer is attached only while there's something to read
+     */
+    private transient volatile boolean lazyReadBuffer = false;
+
+    /**
+     * dispatch state: not scheduled
+     */
+    private static final int IDLE = 0;
+    /**
+     * dispatch state: submitted to a worker, process() is not started yet
+     */
+    private static final int SCHEDULED = 1;
+    /**
+     * dispatch state: process() is running
+     */
+    private static final int RUNNING = 2;
+    /**
+     * dispatch state: process() is running & another event is posted
+     */
+    private static final int RUNNING_PENDING = 3;
+    /**
+     * dispatch state: terminated & left dispatch for good (read buffer is released)
+     */
+    private static final int CLOSED = 4;
+
+    /**
+     * true: writes are held until flush() or uncork()
+     */
+    private transient boolean corked = false;
+    /**
+     * true: Reactor corks before process() and flushes after it
+     */
+    private transient boolean autoCork = false;
+    /**
+     * writes held by cork
+     */
+    private transient final List<ByteBuffer> pendingWrites = new ArrayList<>();
+    private transient int pendingBytes = 0;
+    /**
+     * max bytes to hold while corked (flushed automatically when exceeded)
+     */
+    private int maxPendingBytes = 64 * 1024;
+
+    /**
+     * one of IDLE, SCHEDULED, RUNNING, RUNNING_PENDING, CLOSED
+     */
+    private transient final AtomicInteger dispatchState = new AtomicInteger(IDLE);
+
+    /**
+     * called once the session is closed (null: not recycled)
+     */
+    private transient volatile Consumer<Session> recycler = null;
+
+    private transient volatile boolean terminated = false;
 
     /**
      * Constructor
      *
      * @param channel channel to use
-     * @param sessionMap     Map of sessions
+     * @param sessionRegistry registry of sessions
      * @param readBufferSize read buffer size in byte
      * @param readSelectorLB SelectorLoadBalancer for OP_READ ops
      */
     @SuppressWarnings("WeakerAccess")
-    public Session(final SocketChannel channel, final ConcurrentHashMap<Integer, Session> sessionMap,
+    public Session(final SocketChannel channel, final SessionRegistry sessionRegistry,
                    final Integer readBufferSize, final SelectorLoadBalancer readSelectorLB) {
         wrapper = new SocketChannelWrapper(channel);
-        this.sessionMap = sessionMap;
+        this.sessionRegistry = sessionRegistry;
+        id = sessionRegistry.nextId();
 
+        bufferPool = null;
+        this.readBufferSize = readBufferSize;
         readBuffer = ByteBuffer.allocate(readBufferSize);
         this.readSelectorLB = readSelectorLB;
     }
 
+    /**
+     * Constructor for pooled read buffer<br>
+     * Read buffer is leased by attachReadBuffer().<br>
+     *
+     * @param channel channel to use
+     * @param sessionRegistry registry of sessions
+     * @param bufferPool     pool to lease read buffer from
+     * @param readSelectorLB SelectorLoadBalancer for OP_READ ops
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Session(final SocketChannel channel, final SessionRegistry sessionRegistry,
+                   final BufferPool bufferPool, final SelectorLoadBalancer readSelectorLB) {
+        wrapper = new SocketChannelWrapper(channel);
+        this.sessionRegistry = sessionRegistry;
+        id = sessionRegistry.nextId();
+
+        this.bufferPool = bufferPool;
+        readBufferSize = 0;
+        readBuffer = null;
+        this.readSelectorLB = readSelectorLB;
+    }
+
     public boolean isValid() {
         return wrapper.isValid();
     }
@@ -80,25 +188,204 @@ public abstract class Session implements Terminatable {
         return terminated;
     }
 
-    @SuppressWarnings("SuspiciousMethodCalls")
     public void terminate() {
         if (Validator.isNotNull(wrapper)) {
             wrapper.terminate();
         }
 
-        if (Validator.isNotNull(sessionMap)) {
-            try {
-                sessionMap.remove(this);
-            } catch (Exception ignored) {
-            }
+        if (Validator.isNotNull(sessionRegistry)) {
+            sessionRegistry.remove(id);
+        }
+
+        terminated = true;
+
+        // nobody is processing: close here. otherwise the worker closes on endProcess().
+        close();
+    }
+
+    /**
+     * leaves dispatch for good & releases read buffer, if nobody is processing
+     */
+    private void close() {
+        if (!dispatchState.compareAndSet(IDLE, CLOSED)) {
+            return;
         }
 
-        if (Validator.isNotNull(readBuffer)) {
-            readBuffer.clear();
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = readBuffer;
             readBuffer = null;
         }
+        if (Validator.isNotNull(buffer)) {
+            buffer.clear();
+            if (Validator.isNotNull(bufferPool)) {
+                bufferPool.release(buffer);
+            }
+        }
 
-        terminated = true;
+        Consumer<Session> target = recycler;
+        if (Validator.isNotNull(target)) {
+            target.accept(this);
+        }
+    }
+
+    /**
+     * Posts an event to this session's mailbox
+     *
+     * @return true: caller must submit this session to a worker,
+     * false: it's already scheduled or running and will see the event
+     */
+    public boolean schedule() {
+        while (true) {
+            int state = dispatchState.get();
+            if (state == IDLE) {
+                if (dispatchState.compareAndSet(IDLE, SCHEDULED)) {
+                    return true;
+                }
+            } else if (state == RUNNING) {
+                if (dispatchState.compareAndSet(RUNNING, RUNNING_PENDING)) {
+                    return false;
+                }
+            } else {
+                // SCHEDULED or RUNNING_PENDING: already in the mailbox, CLOSED: no more events
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Called by a worker before process()
+     *
+     * @return false: not scheduled (nothing to do)
+     */
+    public boolean beginProcess() {
+        return dispatchState.compareAndSet(SCHEDULED, RUNNING);
+    }
+
+    /**
+     * Called by a worker after process().<br>
+     * Closes a terminated session (see terminate()).<br>
+     *
+     * @return true: events were posted while running, submit again
+     */
+    public boolean endProcess() {
+        if (!dispatchState.compareAndSet(RUNNING, IDLE)) {
+            // RUNNING_PENDING
+            if (!terminated) {
+                dispatchState.set(SCHEDULED);
+                return true;
+            }
+            dispatchState.set(IDLE);
+        }
+
+        // terminate() on other thread either sees IDLE or is seen here
+        if (terminated) {
+            close();
+        }
+        return false;
+    }
+
+    /**
+     * @return true: scheduled or running
+     */
+    public boolean isScheduled() {
+        int state = dispatchState.get();
+        return state != IDLE && state != CLOSED;
+    }
+
+    /**
+     * @return true: terminated & left dispatch (read buffer is released)
+     */
+    public boolean isClosed() {
+        return dispatchState.get() == CLOSED;
+    }
+
+    /**
+     * Leases read buffer from pool, if not leased yet.<br>
+     * In lazy mode, called before each process() and paired with releaseIdleReadBuffer().<br>
+     */
+    public void attachReadBuffer() {
+        synchronized (this) {
+            if (readBuffer == null && Validator.isNotNull(bufferPool) && !terminated) {
+                readBuffer = bufferPool.lease();
+            }
+        }
+    }
+
+    /**
+     * Returns read buffer to pool if it holds no partial message (lazy mode only).<br>
+     * Called after each process().<br>
+     */
+    public void releaseIdleReadBuffer() {
+        if (!lazyReadBuffer) {
+            return;
+        }
+
+        ByteBuffer buffer = null;
+        synchronized (this) {
+            // position 0: Protocol consumed a complete message
+            if (Validator.isNotNull(readBuffer) && readBuffer.position() == 0) {
+                buffer = readBuffer;
+                readBuffer = null;
+            }
+        }
+
+        if (Validator.isNotNull(buffer)) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Binds a closed session to a new channel, so that SessionFactory can reuse it (see
+     * SessionFactory.recycle).<br>
+     * Subclasses with per connection state (e.g. protocol) override this, call super.reset() first
+     * and rebuild the state with new wrapper.<br>
+     *
+     * @param channel accepted channel
+     * @throws IllegalStateException session is not closed yet
+     */
+    public void reset(final SocketChannel channel) {
+        if (!isClosed()) {
+            throw new IllegalStateException("session is not closed yet - " + this);
+        }
+
+        wrapper = new SocketChannelWrapper(channel);
+        id = sessionRegistry.nextId();
+        // bound to previous wrapper
+        protocol = null;
+
+        // dropped by close()
+        readBuffer = Validator.isNotNull(bufferPool) ? null : ByteBuffer.allocate(readBufferSize);
+        lazyReadBuffer = false;
+        corked = false;
+        pendingWrites.clear();
+        pendingBytes = 0;
+        recycler = null;
+        terminated = false;
+
+        // last, so that whoever dispatches it next sees everything above
+        dispatchState.set(IDLE);
+    }
+
+    /**
+     * @param recycler called once the session is terminated & left dispatch (e.g. SessionFactory::recycle)
+     */
+    public void setRecycler(final Consumer<Session> recycler) {
+        this.recycler = recycler;
+    }
+
+    public boolean isLazyReadBuffer() {
+        return lazyReadBuffer;
+    }
+
+    /**
+     * @param lazyReadBuffer true: attach readBuffer only while there's something to read
+     */
+    public void setLazyReadBuffer(final boolean lazyReadBuffer) {
+        if (lazyReadBuffer && bufferPool == null) {
+            throw new IllegalStateException("lazy read buffer requires a BufferPool");
+        }
+        this.lazyReadBuffer = lazyReadBuffer;
     }
 
     /**
@@ -116,15 +403,129 @@ public abstract class Session implements Terminatable {
 
     @SuppressWarnings("WeakerAccess")
     public void write(byte[] data) throws IOException {
-        protocol.write(ByteBuffer.wrap(data));
+        if (corked) {
+            pendingWrites.add(ByteBuffer.wrap(data));
+            pendingBytes += data.length;
+            if (pendingBytes >= maxPendingBytes) {
+                flush();
+            }
+        } else {
+            protocol.write(ByteBuffer.wrap(data));
+        }
+    }
+
+    /**
+     * Sends header, file and trailer in order. File is sent with FileChannel.transferTo (zero-copy).<br>
+     * Held writes are flushed first.<br>
+     * <b>file is closed when transfer is completed or aborted</b>, as it could be sent later by
+     * WriteThread in non-blocking write mode.<br>
+     *
+     * @param header   data to send before file (nullable)
+     * @param file     file to send
+     * @param position position of first byte to send
+     * @param count    number of bytes to send
+     * @param trailer  data to send after file (nullable)
+     * @throws IOException
+     */
+    public void sendFile(final byte[] header, final FileChannel file, final long position, final long count,
+                         final byte[] trailer) throws IOException {
+        FileRegion region = new FileRegion(file, position, count, true);
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            region.release();
+            throw e;
+        }
+
+        protocol.writeFile(header == null ? null : ByteBuffer.wrap(header), region,
+                trailer == null ? null : ByteBuffer.wrap(trailer));
+    }
+
+    /**
+     * Holds following writes until flush() or uncork(), so that they are sent with a single
+     * gathering write.
+     */
+    public void cork() {
+        corked = true;
+    }
+
+    /**
+     * Flushes held writes & stops holding
+     *
+     * @throws IOException
+     */
+    public void uncork() throws IOException {
+        corked = false;
+        flush();
+    }
+
+    /**
+     * Sends held writes with a single gathering write
+     *
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        int count = pendingWrites.size();
+        if (count > 0) {
+            ByteBuffer[] buffers = pendingWrites.toArray(new ByteBuffer[count]);
+            pendingWrites.clear();
+            pendingBytes = 0;
+
+            protocol.write(buffers, 0, count);
+        }
+    }
+
+    /**
+     * Sends held writes and terminates once everything is written.<br>
+     * Use this instead of terminate() after a last response, which may still be queued in
+     * non-blocking write mode.<br>
+     *
+     * @throws IOException
+     */
+    public void terminateWhenFlushed() throws IOException {
+        flush();
+        wrapper.terminateWhenFlushed();
+    }
+
+    public boolean isCorked() {
+        return corked;
+    }
+
+    public boolean isAutoCork() {
+        return autoCork;
+    }
+
+    /**
+     * @param autoCork true: all writes of a process() call are sent with a single gathering write
+     */
+    public void setAutoCork(final boolean autoCork) {
+        this.autoCork = autoCork;
+    }
+
+    public int getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    /**
+     * @param maxPendingBytes max bytes to hold while corked (flushed automatically when exceeded)
+     */
+    public void setMaxPendingBytes(final int maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
     }
 
     public SocketChannelWrapper getWrapper() {
         return wrapper;
     }
 
-    public ConcurrentHashMap<Integer, Session> getSessionMap() {
-        return sessionMap;
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
+    /**
+     * @return id in session registry
+     */
+    public long getId() {
+        return id;
     }
 
     public ByteBuffer getReadBuffer() {
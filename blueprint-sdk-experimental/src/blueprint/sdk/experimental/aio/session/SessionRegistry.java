@@ -0,0 +1,229 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of Sessions keyed by primitive long id.<br>
+ * Ids are issued by nextId() and never reused, so they don't collide like hash codes.<br>
+ * Entries live in lock-striped open addressing tables, so neither keys nor entries are boxed.<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class SessionRegistry {
+    /**
+     * number of stripes (power of 2)
+     */
+    private static final int STRIPES = 16;
+
+    private transient final AtomicLong sequence = new AtomicLong(0);
+    private transient final AtomicInteger count = new AtomicInteger(0);
+    private transient final Segment[] segments = new Segment[STRIPES];
+
+    public SessionRegistry() {
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @return new session id (never 0)
+     */
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * @param session session to register (keyed by session.getId())
+     */
+    public void put(final Session session) {
+        long id = session.getId();
+        if (segmentFor(id).put(id, session)) {
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param id session id
+     * @return registered session or null
+     */
+    public Session get(final long id) {
+        return segmentFor(id).get(id);
+    }
+
+    /**
+     * @param id session id
+     * @return removed session or null
+     */
+    public Session remove(final long id) {
+        Session result = segmentFor(id).remove(id);
+        if (result != null) {
+            count.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * @return number of registered sessions
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * @return snapshot of registered sessions
+     */
+    public List<Session> values() {
+        List<Session> result = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            segment.copyTo(result);
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            count.addAndGet(-segment.clear());
+        }
+    }
+
+    private static long mix(final long id) {
+        long h = id * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 32);
+    }
+
+    private Segment segmentFor(final long id) {
+        return segments[(int) (mix(id) >>> 60) & (STRIPES - 1)];
+    }
+
+    /**
+     * linear probing table (0 key: empty slot)
+     */
+    private static final class Segment {
+        private long[] keys = new long[16];
+        private Session[] values = new Session[16];
+        private int size = 0;
+
+        synchronized boolean put(final long id, final Session session) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+
+            int mask = keys.length - 1;
+            int index = (int) mix(id) & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == id) {
+                    values[index] = session;
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = id;
+            values[index] = session;
+            size++;
+            return true;
+        }
+
+        synchronized Session get(final long id) {
+            int mask = keys.length - 1;
+            int index = (int) mix(id) & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == id) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        synchronized Session remove(final long id) {
+            int mask = keys.length - 1;
+            int index = (int) mix(id) & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == id) {
+                    Session result = values[index];
+                    shiftBack(index);
+                    size--;
+                    return result;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * backward shift deletion (no tombstones)
+         *
+         * @param removed index of removed entry
+         */
+        private void shiftBack(final int removed) {
+            int mask = keys.length - 1;
+            int hole = removed;
+            int index = (hole + 1) & mask;
+            while (keys[index] != 0) {
+                int home = (int) mix(keys[index]) & mask;
+                // move entry if its home isn't in (hole, index]
+                if (((index - home) & mask) >= ((index - hole) & mask)) {
+                    keys[hole] = keys[index];
+                    values[hole] = values[index];
+                    hole = index;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[hole] = 0;
+            values[hole] = null;
+        }
+
+        private void resize(final int capacity) {
+            long[] oldKeys = keys;
+            Session[] oldValues = values;
+            keys = new long[capacity];
+            values = new Session[capacity];
+
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int index = (int) mix(oldKeys[i]) & mask;
+                    while (keys[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                }
+            }
+        }
+
+        synchronized void copyTo(final List<Session> target) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    target.add(values[i]);
+                }
+            }
+        }
+
+        synchronized int clear() {
+            int result = size;
+            keys = new long[16];
+            values = new Session[16];
+            size = 0;
+            return result;
+        }
+    }
+}
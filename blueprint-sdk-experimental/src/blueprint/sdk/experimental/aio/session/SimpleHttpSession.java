@@ -13,34 +13,77 @@
 
 package blueprint.sdk.experimental.aio.session;
 
+import blueprint.sdk.experimental.aio.BufferPool;
 import blueprint.sdk.experimental.aio.SelectorLoadBalancer;
+import blueprint.sdk.experimental.aio.protocol.HttpRequest;
 import blueprint.sdk.experimental.aio.protocol.SimpleHttpProtocol;
 import blueprint.sdk.util.CharsetUtil;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
- * HTTP Session
+ * HTTP Session<br>
+ * Answers every (pipelined) request and keeps the connection unless asked to close.<br>
  *
  * @author Sangmin Lee
  * @since 2008. 12. 1.
  */
 public class SimpleHttpSession extends Session {
-    public SimpleHttpSession(final SocketChannel channel, final ConcurrentHashMap<Integer, Session> map,
+    private transient SimpleHttpProtocol http;
+
+    public SimpleHttpSession(final SocketChannel channel, final SessionRegistry registry,
                              final Integer bufferSize, final SelectorLoadBalancer selectorLB) {
-        super(channel, map, bufferSize, selectorLB);
+        super(channel, registry, bufferSize, selectorLB);
+
+        http = new SimpleHttpProtocol(wrapper, selectorLB);
+        protocol = http;
+    }
+
+    public SimpleHttpSession(final SocketChannel channel, final SessionRegistry registry,
+                             final BufferPool bufferPool, final SelectorLoadBalancer selectorLB) {
+        super(channel, registry, bufferPool, selectorLB);
+
+        http = new SimpleHttpProtocol(wrapper, selectorLB);
+        protocol = http;
+    }
+
+    @Override
+    public void reset(final SocketChannel channel) {
+        super.reset(channel);
 
-        protocol = new SimpleHttpProtocol(wrapper, selectorLB);
+        http = new SimpleHttpProtocol(wrapper, readSelectorLB);
+        protocol = http;
     }
 
     public void process() throws IOException {
         try {
-            byte[] data = read(readBuffer);
+            // header & body go out with a single gathering write. with Nagle's algorithm, a second
+            // small write waits for peer's (delayed) ACK.
+            cork();
+
+            HttpRequest request;
+            while ((request = http.readRequest(readBuffer)) != null) {
+                byte[] body = ("<html><body>Your request is:<br>" + request + "</body></html>\n")
+                        .getBytes(CharsetUtil.getDefaultEncoding());
+                boolean keepAlive = request.isKeepAlive();
+
+                write(("HTTP/1." + request.getMinorVersion() + " 200 OK\r\n"
+                        + "Content-Type: text/html\r\n"
+                        + "Content-Length: " + body.length + "\r\n"
+                        + (keepAlive ? "" : "Connection: close\r\n")
+                        + "\r\n").getBytes(CharsetUtil.getDefaultEncoding()));
+                write(body);
+
+                if (!keepAlive) {
+                    // response may still be queued
+                    terminateWhenFlushed();
+                    break;
+                }
+            }
 
-            write(("<html><body>Your request is:<br>" + new String(data) + "</body></html>\n").getBytes(CharsetUtil.getDefaultEncoding()));
+            uncork();
         } catch (IOException ex) {
             terminate();
         }
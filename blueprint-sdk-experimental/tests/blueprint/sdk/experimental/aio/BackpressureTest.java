@@ -0,0 +1,112 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import blueprint.sdk.experimental.aio.protocol.SimpleHttpProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests that a protocol stops reading pipelined requests while its wrapper's outbound queue is
+ * above highWaterMark, and reads the rest once the peer takes responses.
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class BackpressureTest {
+    private static final Logger logger = LoggerFactory.getLogger(BackpressureTest.class);
+
+    private static final int REQUESTS = 100;
+    private static final int RESPONSE_SIZE = 16 * 1024 * 1024;
+
+    public static void main(final String[] args) throws Exception {
+        WriteThread writeThread = new WriteThread(SelectorFactory.get());
+        writeThread.setReleaseSelector(true);
+        writeThread.start();
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel client = SocketChannel.open(server.getLocalAddress());
+            SocketChannel accepted = server.accept();
+            accepted.configureBlocking(false);
+
+            SocketChannelWrapper wrapper = new SocketChannelWrapper(accepted);
+            wrapper.setWriteThread(writeThread);
+            wrapper.setWaterMarks(64 * 1024, 16 * 1024);
+            SimpleHttpProtocol http = new SimpleHttpProtocol(wrapper, new SelectorLoadBalancer(new ArrayList<>()));
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(1024);
+
+            // every request is in server's socket buffer before it reads any
+            byte[] request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < REQUESTS; i++) {
+                client.write(ByteBuffer.wrap(request));
+            }
+            Thread.sleep(200);
+
+            check(http.readRequest(readBuffer) != null, "can't read first request");
+            int handled = 1;
+
+            // a response the peer doesn't take yet
+            wrapper.write(ByteBuffer.allocate(RESPONSE_SIZE));
+            check(wrapper.isReadPaused(), "not paused - outbound " + wrapper.getOutboundBytes() + " bytes");
+
+            // only requests already received are handled
+            while (http.readRequest(readBuffer) != null) {
+                handled++;
+            }
+            logger.debug("handled " + handled + " of " + REQUESTS + " requests while paused");
+            check(handled < REQUESTS, "read every request past highWaterMark");
+
+            // take the response, so that reading resumes
+            ByteBuffer sink = ByteBuffer.allocate(64 * 1024);
+            long received = 0;
+            while (received < RESPONSE_SIZE) {
+                sink.clear();
+                received += client.read(sink);
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (wrapper.isReadPaused() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            check(!wrapper.isReadPaused(), "not resumed - outbound " + wrapper.getOutboundBytes() + " bytes");
+
+            while (http.readRequest(readBuffer) != null) {
+                handled++;
+            }
+            logger.debug("handled " + handled + " of " + REQUESTS + " requests after resume");
+            check(handled == REQUESTS, "lost requests - " + handled);
+
+            wrapper.terminate();
+            client.close();
+        } finally {
+            writeThread.terminate();
+        }
+
+        logger.info("all passed");
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.bench;
+
+import blueprint.sdk.experimental.aio.Proactor;
+import blueprint.sdk.experimental.aio.Service;
+import blueprint.sdk.experimental.aio.session.EchoSession;
+import blueprint.sdk.experimental.aio.session.Session;
+import blueprint.sdk.experimental.aio.session.SimpleHttpSession;
+import blueprint.sdk.experimental.aio.sio.Acceptor;
+
+/**
+ * Server under benchmark, bound to an ephemeral port
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class BenchServer {
+    /**
+     * number of acceptor threads of aio services
+     */
+    private static final int ACCEPTOR_COUNT = 1;
+
+    private final Target target;
+    private final Service service;
+    private final int port;
+
+    /**
+     * Starts a server
+     *
+     * @param target       server to start
+     * @param readerCount  number of read threads (aio only)
+     * @param reactorCount number of reactors (aio only)
+     * @param bufferSize   read buffer size in byte (aio only)
+     * @throws Exception failed to start
+     */
+    public BenchServer(final Target target, final int readerCount, final int reactorCount, final int bufferSize)
+            throws Exception {
+        this.target = target;
+
+        if (target == Target.SIO) {
+            Acceptor acceptor = new Acceptor(0);
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            service = null;
+            port = acceptor.getPort();
+        } else {
+            Class<? extends Session> sessionClass = target == Target.ECHO ? EchoSession.class
+                    : SimpleHttpSession.class;
+            Proactor proactor = new Proactor(reactorCount, readerCount, sessionClass, bufferSize);
+
+            service = new Service("bench-" + target.name().toLowerCase(), proactor);
+            service.bind("127.0.0.1", 0, true, 0, ACCEPTOR_COUNT, false);
+            port = service.getServerChannel().socket().getLocalPort();
+        }
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return service under benchmark (null: sio)
+     */
+    public Service getService() {
+        return service;
+    }
+
+    /**
+     * stops aio service (sio acceptor is a daemon & lives until JVM exits)
+     */
+    public void stop() {
+        if (service != null) {
+            service.terminate();
+        }
+    }
+
+    /**
+     * servers to benchmark
+     */
+    public enum Target {
+        /**
+         * aio EchoSession
+         */
+        ECHO,
+        /**
+         * aio SimpleHttpSession
+         */
+        HTTP,
+        /**
+         * thread per connection baseline (sio.Acceptor)
+         */
+        SIO
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.bench;
+
+import blueprint.sdk.experimental.aio.AioMetrics;
+import blueprint.sdk.experimental.aio.Histogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop load generator over loopback. Runs without JMH (see bench/.../AioBenchmark for JMH).<br>
+ * <br>
+ * Each connection sends a request, waits for its response and sends the next one, so throughput
+ * is bounded by latency & number of connections.<br>
+ * <br>
+ * usage: LoadGenerator [echo|http|sio] [connections] [seconds] [readerCount] [reactorCount] [bufferSize]
+ * [messageSize]<br>
+ * e.g. LoadGenerator echo 64 10 2 8 1024 128<br>
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class LoadGenerator {
+    private final BenchServer server;
+    private final int connections;
+    private final int messageSize;
+
+    private final Histogram latency = new Histogram();
+    private final AtomicLong errors = new AtomicLong(0);
+
+    /**
+     * Constructor
+     *
+     * @param server      server under benchmark
+     * @param connections number of concurrent connections (each with its own thread)
+     * @param messageSize echo message size in byte
+     */
+    public LoadGenerator(final BenchServer server, final int connections, final int messageSize) {
+        this.server = server;
+        this.connections = connections;
+        this.messageSize = messageSize;
+    }
+
+    /**
+     * @param warmup  warm up time (msec, not recorded)
+     * @param measure measured time (msec)
+     * @return requests per second
+     * @throws InterruptedException
+     */
+    public double run(final long warmup, final long measure) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(connections);
+        AtomicLong recorded = new AtomicLong(0);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmup);
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(measure);
+
+        List<Thread> threads = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    drive(measureFrom, end, recorded);
+                } finally {
+                    done.countDown();
+                }
+            }, "LoadGenerator-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        done.await();
+
+        return recorded.get() * 1000.0 / measure;
+    }
+
+    /**
+     * sends requests on a connection until end
+     */
+    private void drive(final long measureFrom, final long end, final AtomicLong recorded) {
+        byte[] message = LoopbackClient.newMessage(messageSize);
+        byte[] keepAlive = LoopbackClient.newHttpRequest(true);
+        byte[] close = LoopbackClient.newHttpRequest(false);
+
+        LoopbackClient client = null;
+        try {
+            if (server.getTarget() != BenchServer.Target.SIO) {
+                client = new LoopbackClient(server.getPort());
+            }
+
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                switch (server.getTarget()) {
+                    case ECHO:
+                        client.echo(message);
+                        break;
+                    case HTTP:
+                        client.http(keepAlive);
+                        break;
+                    default:
+                        LoopbackClient.oneShot(server.getPort(), close);
+                        break;
+                }
+
+                long elapsed = System.nanoTime() - now;
+                if (now >= measureFrom) {
+                    latency.record(elapsed);
+                    recorded.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            errors.incrementAndGet();
+            System.err.println(Thread.currentThread().getName() + " failed - " + e);
+        } finally {
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * @return round trip latency (nsec)
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return number of connections failed
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        BenchServer.Target target = BenchServer.Target.valueOf(arg(args, 0, "echo").toUpperCase());
+        int connections = Integer.parseInt(arg(args, 1, "16"));
+        int seconds = Integer.parseInt(arg(args, 2, "10"));
+        int readerCount = Integer.parseInt(arg(args, 3, "1"));
+        int reactorCount = Integer.parseInt(arg(args, 4, "4"));
+        int bufferSize = Integer.parseInt(arg(args, 5, "1024"));
+        int messageSize = Integer.parseInt(arg(args, 6, "64"));
+
+        BenchServer server = new BenchServer(target, readerCount, reactorCount, bufferSize);
+        try {
+            LoadGenerator generator = new LoadGenerator(server, connections, messageSize);
+            double throughput = generator.run(Math.min(seconds * 1000L / 3, 5000), seconds * 1000L);
+            Histogram latency = generator.getLatency();
+
+            System.out.println(target + " connections=" + connections + " readerCount=" + readerCount
+                    + " reactorCount=" + reactorCount + " bufferSize=" + bufferSize + " messageSize=" + messageSize);
+            System.out.printf("  %.1f req/s, latency(usec) p50=%.1f p99=%.1f p99.9=%.1f max=%.1f, errors=%d%n",
+                    throughput, latency.getPercentile(50) / 1000.0, latency.getPercentile(99) / 1000.0,
+                    latency.getPercentile(99.9) / 1000.0, latency.getMax() / 1000.0, generator.getErrors());
+
+            if (server.getService() != null) {
+                AioMetrics metrics = server.getService().getProactor().getMetrics();
+                System.out.println("  " + metrics);
+            }
+        } finally {
+            server.stop();
+        }
+
+        System.exit(0);
+    }
+
+    private static String arg(final String[] args, final int index, final String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
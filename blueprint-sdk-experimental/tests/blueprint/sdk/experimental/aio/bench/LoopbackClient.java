@@ -0,0 +1,197 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.bench;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client for benchmarks (one request in flight per connection)
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+@SuppressWarnings("WeakerAccess")
+public class LoopbackClient implements Closeable {
+    /**
+     * max time to wait for a response (msec)
+     */
+    private static final int SO_TIMEOUT = 10 * 1000;
+
+    private final Socket sock;
+    private final InputStream in;
+    private final OutputStream out;
+    private final byte[] buffer;
+
+    /**
+     * Connects to loopback
+     *
+     * @param port server port
+     * @throws IOException
+     */
+    public LoopbackClient(final int port) throws IOException {
+        sock = connect(port);
+        in = sock.getInputStream();
+        out = sock.getOutputStream();
+        buffer = new byte[64 * 1024];
+    }
+
+    private static Socket connect(final int port) throws IOException {
+        Socket result = new Socket();
+        result.setTcpNoDelay(true);
+        result.setSoTimeout(SO_TIMEOUT);
+        result.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return result;
+    }
+
+    /**
+     * Sends a message & reads it back
+     *
+     * @param message message to send
+     * @return number of bytes echoed
+     * @throws IOException
+     */
+    public int echo(final byte[] message) throws IOException {
+        out.write(message);
+        out.flush();
+
+        int received = 0;
+        while (received < message.length) {
+            int len = in.read(buffer, 0, Math.min(buffer.length, message.length - received));
+            if (len < 0) {
+                throw new EOFException("connection closed after " + received + " bytes");
+            }
+            received += len;
+        }
+        return received;
+    }
+
+    /**
+     * Sends a keep-alive request & reads a response with Content-Length
+     *
+     * @param request complete HTTP request
+     * @return length of response body
+     * @throws IOException
+     */
+    public int http(final byte[] request) throws IOException {
+        out.write(request);
+        out.flush();
+
+        // headers
+        int contentLength = -1;
+        StringBuilder line = new StringBuilder();
+        int prev = -1;
+        while (true) {
+            int ch = in.read();
+            if (ch < 0) {
+                throw new EOFException("connection closed while reading headers");
+            }
+
+            if (ch == '\n' && prev == '\r') {
+                line.setLength(line.length() - 1);
+                if (line.length() == 0) {
+                    break;
+                }
+
+                String header = line.toString();
+                int colon = header.indexOf(':');
+                if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                    contentLength = Integer.parseInt(header.substring(colon + 1).trim());
+                }
+                line.setLength(0);
+            } else {
+                line.append((char) ch);
+            }
+            prev = ch;
+        }
+        if (contentLength < 0) {
+            throw new IOException("response without Content-Length");
+        }
+
+        // body
+        int received = 0;
+        while (received < contentLength) {
+            int len = in.read(buffer, 0, Math.min(buffer.length, contentLength - received));
+            if (len < 0) {
+                throw new EOFException("connection closed while reading body");
+            }
+            received += len;
+        }
+        return received;
+    }
+
+    /**
+     * Connects, sends a request & reads until the server closes (connection per request)
+     *
+     * @param port    server port
+     * @param request request to send
+     * @return number of bytes received
+     * @throws IOException
+     */
+    public static int oneShot(final int port, final byte[] request) throws IOException {
+        try (Socket sock = connect(port)) {
+            OutputStream out = sock.getOutputStream();
+            out.write(request);
+            out.flush();
+
+            InputStream in = sock.getInputStream();
+            byte[] buffer = new byte[4096];
+            int result = 0;
+            int len;
+            while ((len = in.read(buffer)) >= 0) {
+                result += len;
+            }
+            if (result == 0) {
+                throw new EOFException("no response");
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param keepAlive true: HTTP/1.1 keep-alive, false: Connection: close
+     * @return a GET request
+     */
+    public static byte[] newHttpRequest(final boolean keepAlive) {
+        String request = "GET /index.html HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + (keepAlive ? "" : "Connection: close\r\n")
+                + "\r\n";
+        return request.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param size message size in byte
+     * @return a message for echo
+     */
+    public static byte[] newMessage(final int size) {
+        byte[] result = new byte[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) ('a' + i % 26);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sock.close();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests HttpRequestParser with split reads, pipelined requests & chunked bodies
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class HttpRequestParserTest {
+    private static final Logger logger = LoggerFactory.getLogger(HttpRequestParserTest.class);
+
+    public static void main(final String[] args) throws ProtocolException {
+        splitReads();
+        pipelining();
+        chunked();
+        malformed();
+        tooLarge();
+
+        logger.info("all passed");
+    }
+
+    /**
+     * bytes arrive one by one
+     */
+    private static void splitReads() throws ProtocolException {
+        byte[] bytes = ascii("POST /split?a=1 HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n\r\nhello");
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(bytes[i]);
+            boolean complete = parser.parse(buffer, 0, buffer.position());
+            check(complete == (i == bytes.length - 1), "completed at " + (i + 1) + " of " + bytes.length);
+        }
+
+        HttpRequest request = parser.getRequest();
+        check("POST".equals(request.getMethod()), "method - " + request.getMethod());
+        check("/split?a=1".equals(request.getUri()), "uri - " + request.getUri());
+        check(request.getMinorVersion() == 1, "version - " + request.getMinorVersion());
+        check("localhost".equals(request.getHeader("host")), "host - " + request.getHeader("host"));
+        check("hello".equals(body(request)), "body - " + body(request));
+        check(request.getLength() == bytes.length, "length - " + request.getLength());
+
+        logger.debug("split reads: " + request);
+    }
+
+    /**
+     * three requests in a buffer, last one incomplete
+     */
+    private static void pipelining() throws ProtocolException {
+        String first = "GET /1 HTTP/1.1\r\nHost: a\r\n\r\n";
+        String second = "POST /2 HTTP/1.1\r\nContent-Length: 3\r\n\r\nabc";
+        String third = "GET /3 HTTP/1.0\r\n";
+        byte[] bytes = ascii(first + second + third);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 2);
+        buffer.put(bytes);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        int offset = 0;
+        check(parser.parse(buffer, offset, buffer.position()), "first is incomplete");
+        check("/1".equals(parser.getRequest().getUri()), "first uri - " + parser.getRequest().getUri());
+        check(parser.getRequest().getLength() == first.length(), "first length");
+        offset += parser.getRequest().getLength();
+        parser.next();
+
+        check(parser.parse(buffer, offset, buffer.position()), "second is incomplete");
+        check("/2".equals(parser.getRequest().getUri()), "second uri - " + parser.getRequest().getUri());
+        check("abc".equals(body(parser.getRequest())), "second body - " + body(parser.getRequest()));
+        offset += parser.getRequest().getLength();
+        parser.next();
+
+        check(!parser.parse(buffer, offset, buffer.position()), "third is complete without blank line");
+        check(parser.getRequest() == null, "incomplete request is returned");
+        buffer.put(ascii("\r\n"));
+        check(parser.parse(buffer, offset, buffer.position()), "third is incomplete");
+        check("/3".equals(parser.getRequest().getUri()), "third uri - " + parser.getRequest().getUri());
+        check(!parser.getRequest().isKeepAlive(), "HTTP/1.0 without keep-alive");
+
+        logger.debug("pipelining: passed");
+    }
+
+    /**
+     * chunked body split at every byte, with extensions & trailers
+     */
+    private static void chunked() throws ProtocolException {
+        byte[] bytes = ascii("POST /chunked HTTP/1.1\r\nTransfer-Encoding: gzip, chunked\r\n\r\n"
+                + "5;name=value\r\nhello\r\n1\r\n \r\nA\r\n0123456789\r\n0\r\nExpires: never\r\n\r\n"
+                + "GET /after HTTP/1.1\r\n\r\n");
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        int i = 0;
+        while (!parser.parse(buffer, 0, buffer.position())) {
+            buffer.put(bytes[i++]);
+        }
+        HttpRequest request = parser.getRequest();
+        check(request.isChunked(), "not chunked");
+        check("hello 0123456789".equals(body(request)), "body - " + body(request));
+        check(request.getBodyLength() == 16, "body length - " + request.getBodyLength());
+
+        // decoded in place, but next request starts where the encoded one ended
+        int offset = request.getLength();
+        parser.next();
+        buffer.put(bytes, i, bytes.length - i);
+        check(parser.parse(buffer, offset, buffer.position()), "request after chunked is incomplete");
+        check("/after".equals(parser.getRequest().getUri()), "uri after chunked - " + parser.getRequest().getUri());
+
+        logger.debug("chunked: passed");
+    }
+
+    private static void malformed() {
+        String[] requests = {
+                "GET /\r\n\r\n",
+                "GET / HTTP/2.0\r\n\r\n",
+                "POST / HTTP/1.1\r\nContent-Length: 1\r\nContent-Length: 2\r\n\r\n",
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n",
+                "POST / HTTP/1.1\r\nContent-Length: 5\r\nTransfer-Encoding: chunked\r\n\r\n0\r\n\r\n",
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nContent-Length: 0\r\n\r\n0\r\n\r\n"
+        };
+
+        for (String request : requests) {
+            ByteBuffer buffer = ByteBuffer.wrap(ascii(request));
+            try {
+                new HttpRequestParser().parse(buffer, 0, buffer.limit());
+                throw new IllegalStateException("accepted malformed request - " + request);
+            } catch (ProtocolException expected) {
+                logger.debug("rejected: " + expected.getMessage());
+            }
+        }
+    }
+
+    /**
+     * chunk sizes & Content-Length beyond max request size (or int range) are rejected up front
+     */
+    private static void tooLarge() {
+        String[] requests = {
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n7fffffff\r\n",
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n5\r\nhello\r\n7ffffffb\r\n",
+                "POST / HTTP/1.1\r\nContent-Length: 999999999999999999\r\n\r\n"
+        };
+        for (String request : requests) {
+            expectRejected(new HttpRequestParser(), request);
+        }
+
+        expectRejected(new HttpRequestParser(64, 64),
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n20\r\n");
+        expectRejected(new HttpRequestParser(64, 64), "POST / HTTP/1.1\r\nContent-Length: 40\r\n\r\n");
+
+        logger.debug("too large: passed");
+    }
+
+    private static void expectRejected(final HttpRequestParser parser, final String request) {
+        ByteBuffer buffer = ByteBuffer.wrap(ascii(request));
+        try {
+            parser.parse(buffer, 0, buffer.limit());
+            throw new IllegalStateException("accepted too large request - " + request);
+        } catch (ProtocolException expected) {
+            logger.debug("rejected: " + expected.getMessage());
+        }
+    }
+
+    private static String body(final HttpRequest request) {
+        ByteBuffer body = request.getBody();
+        byte[] result = new byte[body.remaining()];
+        body.get(result);
+        return new String(result, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
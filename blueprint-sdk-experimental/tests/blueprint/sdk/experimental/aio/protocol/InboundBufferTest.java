@@ -0,0 +1,108 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.protocol;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests InboundBuffer growing beyond session's read buffer & shrinking back to it
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class InboundBufferTest {
+    private static final Logger logger = LoggerFactory.getLogger(InboundBufferTest.class);
+
+    public static void main(final String[] args) throws ProtocolException {
+        ByteBuffer readBuffer = ByteBuffer.allocateDirect(16);
+        InboundBuffer inbound = new InboundBuffer(100);
+        inbound.attach(readBuffer);
+
+        // fits in read buffer
+        fill(inbound, 0, 10);
+        inbound.ensureWritable(6);
+        check(!inbound.isGrown(), "grown while it fits");
+
+        // compaction makes room before growing
+        inbound.consume(4);
+        inbound.ensureWritable(10);
+        check(!inbound.isGrown(), "grown instead of compaction");
+        check(inbound.getReadIndex() == 0, "not compacted - " + inbound.getReadIndex());
+        verify(inbound, 4, 6);
+
+        // grows & keeps unconsumed bytes
+        fill(inbound, 10, 11);
+        check(inbound.isGrown(), "not grown");
+        check(inbound.getCapacity() >= 17, "capacity - " + inbound.getCapacity());
+        check(readBuffer.position() == 0, "read buffer is not emptied");
+        verify(inbound, 4, 17);
+
+        // shrinks back once remainder fits in read buffer
+        inbound.consume(6);
+        inbound.compact();
+        check(!inbound.isGrown(), "not shrunk");
+        check(inbound.getBuffer() == readBuffer, "not back to read buffer");
+        verify(inbound, 10, 11);
+
+        // drops grown buffer once everything is consumed
+        fill(inbound, 21, 30);
+        check(inbound.isGrown(), "not grown again");
+        inbound.consume(inbound.getReadableBytes());
+        check(!inbound.isGrown(), "grown buffer is kept");
+        check(readBuffer.position() == 0, "read buffer is not empty - " + readBuffer.position());
+
+        // can't go beyond maxCapacity
+        try {
+            inbound.ensureWritable(101);
+            throw new IllegalStateException("grown beyond maxCapacity");
+        } catch (ProtocolException expected) {
+            logger.debug("rejected: " + expected.getMessage());
+        }
+
+        logger.info("all passed");
+    }
+
+    /**
+     * receives bytes first, first + 1, ... (as InboundBuffer.read does)
+     */
+    private static void fill(final InboundBuffer inbound, final int first, final int count) throws ProtocolException {
+        inbound.ensureWritable(count);
+        ByteBuffer buffer = inbound.getBuffer();
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) (first + i));
+        }
+    }
+
+    /**
+     * checks unconsumed bytes are first, first + 1, ...
+     */
+    private static void verify(final InboundBuffer inbound, final int first, final int count) {
+        check(inbound.getReadableBytes() == count, "readable - " + inbound.getReadableBytes());
+        ByteBuffer buffer = inbound.getBuffer();
+        for (int i = 0; i < count; i++) {
+            byte b = buffer.get(inbound.getReadIndex() + i);
+            check(b == (byte) (first + i), "byte " + i + " - " + b);
+        }
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ License:
+
+ blueprint-sdk is licensed under the terms of Eclipse Public License(EPL) v1.0
+ (http://www.eclipse.org/legal/epl-v10.html)
+
+
+ Distribution:
+
+ Repository - https://github.com/lempel/blueprint-sdk.git
+ Blog - http://lempel.egloos.com
+ */
+
+package blueprint.sdk.experimental.aio.session;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests SessionRegistry's backward shift deletion with colliding keys
+ *
+ * @author Sangmin Lee
+ * @since 2026. 10. 17.
+ */
+public class SessionRegistryTest {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRegistryTest.class);
+
+    public static void main(final String[] args) {
+        collisions();
+        random();
+
+        logger.info("all passed");
+    }
+
+    /**
+     * Builds a cluster of 5 keys with same home slot followed by 3 keys homed right after it
+     * (all in one segment with 16 slots), then removes them in every rotation.
+     */
+    private static void collisions() {
+        SessionRegistry registry = new SessionRegistry();
+
+        // sessions are keyed by issued ids, so pick colliding ones out of many
+        List<Session> pool = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            pool.add(new EchoSession(null, registry, 16, null));
+        }
+
+        Session first = pool.get(0);
+        int segment = segmentOf(first.getId());
+        int home = slotOf(first.getId());
+        List<Session> cluster = new ArrayList<>();
+        List<Session> neighbors = new ArrayList<>();
+        for (Session ses : pool) {
+            long id = ses.getId();
+            if (segmentOf(id) != segment) {
+                continue;
+            }
+            if (slotOf(id) == home && cluster.size() < 5) {
+                cluster.add(ses);
+            } else if (slotOf(id) == ((home + 1) & 15) && neighbors.size() < 3) {
+                neighbors.add(ses);
+            }
+        }
+        check(cluster.size() == 5 && neighbors.size() == 3, "not enough colliding ids");
+
+        List<Session> all = new ArrayList<>(cluster);
+        all.addAll(neighbors);
+        for (int rotation = 0; rotation < all.size(); rotation++) {
+            for (Session ses : all) {
+                registry.put(ses);
+            }
+            check(registry.size() == all.size(), "size - " + registry.size());
+
+            // remove one by one, starting from a different entry each time
+            for (int i = 0; i < all.size(); i++) {
+                Session removed = all.get((rotation + i) % all.size());
+                check(registry.remove(removed.getId()) == removed, "removed wrong session");
+                check(registry.get(removed.getId()) == null, "removed session is still found");
+
+                for (int j = i + 1; j < all.size(); j++) {
+                    Session left = all.get((rotation + j) % all.size());
+                    check(registry.get(left.getId()) == left, "lost " + left.getId() + " after removing "
+                            + removed.getId() + " (rotation " + rotation + ")");
+                }
+            }
+            check(registry.size() == 0, "not empty - " + registry.size());
+        }
+
+        logger.debug("collisions: passed");
+    }
+
+    /**
+     * random put, remove & get against a HashMap (resizes included)
+     */
+    private static void random() {
+        SessionRegistry registry = new SessionRegistry();
+        Map<Long, Session> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            sessions.add(new EchoSession(null, registry, 16, null));
+        }
+
+        for (int i = 0; i < 200000; i++) {
+            Session ses = sessions.get(random.nextInt(sessions.size()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    registry.put(ses);
+                    expected.put(ses.getId(), ses);
+                    break;
+                case 1:
+                    check(registry.remove(ses.getId()) == expected.remove(ses.getId()), "remove at " + i);
+                    break;
+                default:
+                    check(registry.get(ses.getId()) == expected.get(ses.getId()), "get at " + i);
+                    break;
+            }
+            check(registry.size() == expected.size(), "size at " + i);
+        }
+        check(registry.values().size() == expected.size(), "values");
+
+        logger.debug("random: passed with " + registry.size() + " sessions");
+    }
+
+    /**
+     * same as SessionRegistry's
+     */
+    private static long mix(final long id) {
+        long h = id * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static int segmentOf(final long id) {
+        return (int) (mix(id) >>> 60) & 15;
+    }
+
+    /**
+     * home slot in a segment with 16 slots
+     */
+    private static int slotOf(final long id) {
+        return (int) mix(id) & 15;
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
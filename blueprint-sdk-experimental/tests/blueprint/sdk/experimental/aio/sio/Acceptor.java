@@ -27,6 +27,13 @@ public class Acceptor extends Thread {
         ssock = new ServerSocket(port);
     }
 
+    /**
+     * @return bound port (for port 0)
+     */
+    public int getPort() {
+        return ssock.getLocalPort();
+    }
+
     @SuppressWarnings("InfiniteLoopStatement")
     public void run() {
         while (true) {